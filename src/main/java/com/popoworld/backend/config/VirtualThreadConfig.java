@@ -0,0 +1,89 @@
+package com.popoworld.backend.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 가상 스레드 모드 (vthreads 프로필, spring.threads.virtual.enabled=true)
+ * 요청/@KafkaListener/@Scheduled가 가상 스레드에서 돌면 Tomcat 스레드 수(200)가 더 이상 동시 처리량을 막지 않으므로,
+ * 대신 동시에 처리하는 요청 수와 Mongo 커넥션 풀을 직접 제한해서 DB가 밀리지 않도록 한다.
+ * (Postgres는 application-vthreads.properties의 Hikari 설정으로 제한)
+ */
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+@Slf4j
+public class VirtualThreadConfig {
+
+    @Bean
+    public FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilter(
+            @Value("${vthreads.concurrency-limit.max-concurrent-requests:1000}") int maxConcurrentRequests,
+            @Value("${vthreads.concurrency-limit.acquire-timeout-ms:100}") long acquireTimeoutMs) {
+        FilterRegistrationBean<ConcurrencyLimitFilter> registration =
+                new FilterRegistrationBean<>(new ConcurrencyLimitFilter(maxConcurrentRequests, acquireTimeoutMs));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE); // 보안 필터보다 먼저 - 넘치는 요청은 바로 거절
+        log.info("🧵 가상 스레드 모드 - 동시 처리 요청 최대 {}개", maxConcurrentRequests);
+        return registration;
+    }
+
+    // Mongo 커넥션 풀 크기와 대기 시간 제한 (커넥션을 기다리는 가상 스레드가 무한정 쌓이지 않도록)
+    @Bean
+    public MongoClientSettingsBuilderCustomizer mongoPoolCustomizer(
+            @Value("${mongo.pool.max-size:50}") int maxSize,
+            @Value("${mongo.pool.max-wait-ms:2000}") long maxWaitMs) {
+        return builder -> builder.applyToConnectionPoolSettings(pool -> pool
+                .maxSize(maxSize)
+                .maxWaitTime(maxWaitMs, TimeUnit.MILLISECONDS));
+    }
+
+    /**
+     * 동시에 처리 중인 요청 수 제한 - 자리가 없으면 잠깐 기다렸다가 503 (Retry-After)
+     * async 요청(SSE 등)은 처리 메서드가 반환되면 자리를 돌려주므로 열린 연결 수와는 무관
+     */
+    static class ConcurrencyLimitFilter extends OncePerRequestFilter {
+        private final Semaphore permits;
+        private final long acquireTimeoutMs;
+
+        ConcurrencyLimitFilter(int maxConcurrentRequests, long acquireTimeoutMs) {
+            this.permits = new Semaphore(maxConcurrentRequests);
+            this.acquireTimeoutMs = acquireTimeoutMs;
+        }
+
+        @Override
+        protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+                throws ServletException, IOException {
+            boolean acquired;
+            try {
+                acquired = permits.tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                acquired = false;
+            }
+            if (!acquired) {
+                response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+                response.setHeader("Retry-After", "1");
+                return;
+            }
+            try {
+                chain.doFilter(request, response);
+            } finally {
+                permits.release();
+            }
+        }
+    }
+}
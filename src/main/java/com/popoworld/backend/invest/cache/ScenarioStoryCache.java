@@ -0,0 +1,73 @@
+package com.popoworld.backend.invest.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * 챕터별 시나리오 스토리 캐시 (chapterId -> scenarioId + story)
+ * - story(TEXT) 크기 기준으로 전체 용량 제한
+ * - ScenarioService가 시나리오를 저장/수정할 때 해당 챕터만 제거
+ * - evict는 이 서버에서만 일어나므로 다른 서버의 변경은 ttl-seconds 후에 반영됨 (서버 간 일관성은 이 TTL까지만 보장)
+ */
+@Component
+public class ScenarioStoryCache {
+
+    public record CachedScenario(UUID scenarioId, String story) {
+    }
+
+    private static final int ENTRY_OVERHEAD_BYTES = 64;
+
+    private final Cache<String, CachedScenario> cache;
+    private final AtomicLong invalidationCount = new AtomicLong(); // 시나리오 변경으로 제거된 횟수 (용량 초과 제거는 stats()에 포함)
+
+    public ScenarioStoryCache(@Value("${invest.scenario-cache.max-bytes:33554432}") long maxBytes,
+                              @Value("${invest.scenario-cache.ttl-seconds:300}") long ttlSeconds) {
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((String chapterId, CachedScenario scenario) -> weightOf(scenario))
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * 캐시에 없으면 loader로 조회해서 저장. loader가 null을 반환하면 캐시하지 않는다.
+     */
+    public CachedScenario get(String chapterId, Function<String, CachedScenario> loader) {
+        return cache.get(chapterId, loader);
+    }
+
+    public void evict(String chapterId) {
+        if (chapterId == null) {
+            return;
+        }
+        cache.invalidate(chapterId);
+        invalidationCount.incrementAndGet();
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    public long invalidationCount() {
+        return invalidationCount.get();
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    private static int weightOf(CachedScenario scenario) {
+        // Java String(UTF-16) 기준 대략적인 바이트 수
+        long bytes = ENTRY_OVERHEAD_BYTES + (scenario.story() == null ? 0L : 2L * scenario.story().length());
+        return (int) Math.min(bytes, Integer.MAX_VALUE);
+    }
+}
@@ -0,0 +1,49 @@
+package com.popoworld.backend.invest.controller;
+
+import com.popoworld.backend.invest.dto.response.ChildRiskProfileResponse;
+import com.popoworld.backend.invest.riskProfile.ChildRiskProfileService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.apache.kafka.streams.errors.InvalidStateStoreException;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.UUID;
+
+@RequiredArgsConstructor
+@RestController
+@RequestMapping("/api/invest/risk-profile")
+@Tag(name="Invest Risk Profile", description = "아이별 실시간 투자 성향 조회 API")
+@ConditionalOnProperty(name = "invest-risk-profile.enabled", havingValue = "true")
+public class ChildRiskProfileController {
+
+    private final ChildRiskProfileService childRiskProfileService;
+
+    @GetMapping("/{childId}")
+    @Operation(
+            summary = "아이별 투자 성향 조회",
+            description = "invest-history 토픽을 실시간으로 집계한 시간 구간별 위험 선호도/거래 빈도를 반환. 다른 서버가 담당하는 아이면 그 서버에서 가져와서 반환"
+    )
+    @ApiResponse(responseCode = "200", description = "성공 (오래된 구간부터)")
+    @ApiResponse(responseCode = "400", description = "잘못된 요청 (hours 범위 초과 등)")
+    @ApiResponse(responseCode = "503", description = "스트림 준비 중 (재조정 등) 또는 담당 서버 응답 없음")
+    public ResponseEntity<List<ChildRiskProfileResponse>> getRiskProfile(
+            @PathVariable UUID childId,
+            @Parameter(description = "최근 몇 시간") @RequestParam(defaultValue = "24") long hours,
+            @Parameter(hidden = true) @RequestParam(defaultValue = "false") boolean local // 서버끼리 호출할 때만 true
+    ) {
+        try {
+            return ResponseEntity.ok(childRiskProfileService.getProfiles(childId, hours, local));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (IllegalStateException | InvalidStateStoreException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+    }
+}
@@ -2,23 +2,30 @@ package com.popoworld.backend.invest.controller;
 
 import com.popoworld.backend.invest.dto.request.ChapterRequest;
 import com.popoworld.backend.invest.dto.request.ClearChapterRequest;
+import com.popoworld.backend.invest.dto.request.TurnBatchRequest;
 import com.popoworld.backend.invest.dto.request.TurnDataRequest;
 import com.popoworld.backend.invest.dto.response.ChapterDataResponse;
 import com.popoworld.backend.invest.dto.response.ClearChapterResponse;
-import com.popoworld.backend.invest.dto.response.TurnDataResponse;
 import com.popoworld.backend.invest.investHistoryKafka.InvestHistoryKafkaProducer;
+import com.popoworld.backend.invest.investHistoryKafka.InvestHistoryOverloadedException;
 import com.popoworld.backend.invest.service.InvestService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.apache.kafka.common.errors.TimeoutException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
 @RequiredArgsConstructor
 @RestController
 @RequestMapping("/api/invest")
@@ -52,23 +59,65 @@ public class InvestController {
     @PostMapping("/chapter/turn")
     @Operation(
             summary = "게임 턴 정보 업데이트",
-            description = "게임 진행 중 각 턴의 투자 정보를 카프카를 통해 MongoDB에 저장"
+            description = "게임 진행 중 각 턴의 투자 정보를 카프카를 통해 MongoDB에 저장 (브로커 ack 후 응답)"
     )
     @ApiResponse(responseCode = "200", description = "성공 (카프카로 데이터 전송 완료)")
     @ApiResponse(responseCode = "400", description = "잘못된 요청 데이터")
+    @ApiResponse(responseCode = "429", description = "전송 대기열이 가득 참 (Retry-After 후 재시도)")
+    @ApiResponse(responseCode = "503", description = "카프카 브로커 응답 지연")
     @ApiResponse(responseCode = "500", description = "서버 내부 오류")
-    public ResponseEntity<String> updateGameData(@RequestBody TurnDataRequest request) {
+    public CompletableFuture<ResponseEntity<String>> updateGameData(@RequestBody TurnDataRequest request) {
 
         try {
-            TurnDataResponse response = investService.updateGameData(request.getChapterId(), request.getTurn(), request);
-            return ResponseEntity.ok(response.getMessage()); // String 형태로 반환 (기존과 동일)
+            return investService.updateGameData(request.getChapterId(), request.getTurn(), request)
+                    .thenApply(response -> ResponseEntity.ok(response.getMessage())) // String 형태로 반환 (기존과 동일)
+                    .exceptionally(this::toSendFailureResponse);
         } catch (RuntimeException e) {
-            return ResponseEntity.internalServerError()
-                    .body("❌ 전송 실패: " + e.getMessage());
-        } catch (Exception e) {
-            return ResponseEntity.internalServerError()
-                    .body("❌ 전송 실패: " + e.getMessage());
+            return CompletableFuture.completedFuture(toSendFailureResponse(e));
+        }
+    }
+
+    @PostMapping("/chapter/turns")
+    @Operation(
+            summary = "게임 턴 정보 일괄 업데이트",
+            description = "한 세션의 여러 턴 정보를 한 번에 받아 세션 ID를 키로 카프카에 전송 (오프라인 플레이 재전송용)"
+    )
+    @ApiResponse(responseCode = "200", description = "성공 (모든 턴 카프카 전송 완료)")
+    @ApiResponse(responseCode = "400", description = "잘못된 요청 데이터")
+    @ApiResponse(responseCode = "429", description = "전송 대기열이 가득 참 (Retry-After 후 재시도)")
+    @ApiResponse(responseCode = "503", description = "카프카 브로커 응답 지연")
+    @ApiResponse(responseCode = "500", description = "서버 내부 오류")
+    public CompletableFuture<ResponseEntity<String>> updateGameDataBatch(@RequestBody TurnBatchRequest request) {
+
+        try {
+            return investService.updateGameDataBatch(request)
+                    .thenApply(response -> ResponseEntity.ok(response.getMessage()))
+                    .exceptionally(this::toSendFailureResponse);
+        } catch (IllegalArgumentException e) {
+            return CompletableFuture.completedFuture(
+                    ResponseEntity.badRequest().body("❌ 잘못된 요청: " + e.getMessage()));
+        } catch (RuntimeException e) {
+            return CompletableFuture.completedFuture(toSendFailureResponse(e));
+        }
+    }
+
+    // 카프카 전송 실패를 HTTP 응답으로 변환
+    private ResponseEntity<String> toSendFailureResponse(Throwable e) {
+        Throwable cause = (e instanceof CompletionException && e.getCause() != null) ? e.getCause() : e;
+
+        if (cause instanceof InvestHistoryOverloadedException) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .body("❌ 전송 대기열이 가득 찼습니다. 잠시 후 다시 시도해주세요.");
+        }
+        for (Throwable t = cause; t != null; t = t.getCause()) {
+            if (t instanceof TimeoutException) {
+                return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                        .body("❌ 전송 실패: 카프카 응답 지연");
+            }
         }
+        return ResponseEntity.internalServerError()
+                .body("❌ 전송 실패: " + cause.getMessage());
     }
 
 
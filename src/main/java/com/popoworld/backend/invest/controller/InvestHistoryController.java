@@ -0,0 +1,66 @@
+package com.popoworld.backend.invest.controller;
+
+import com.popoworld.backend.invest.service.InvestHistoryQueryService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.UUID;
+
+@RequiredArgsConstructor
+@RestController
+@RequestMapping("/api/invest/history")
+@Tag(name="Invest History", description = "모의투자 턴 기록 조회 API (부모 앱, ML)")
+public class InvestHistoryController {
+
+    private final InvestHistoryQueryService investHistoryQueryService;
+
+    @GetMapping(value = "/sessions/{sessionId}/turns", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(
+            summary = "세션별 턴 기록 조회",
+            description = "게임 세션 하나의 턴 기록을 turn 순서로 한 줄에 하나씩(NDJSON) 반환. 다음 페이지는 마지막 줄의 cursor(= turn)를 after로 전달"
+    )
+    @ApiResponse(responseCode = "200", description = "성공 (NDJSON 스트림)")
+    @ApiResponse(responseCode = "400", description = "잘못된 요청 (limit 범위 초과 등)")
+    public ResponseEntity<StreamingResponseBody> getSessionTurns(
+            @PathVariable UUID sessionId,
+            @Parameter(description = "이 turn 다음부터 조회") @RequestParam(required = false) Integer after,
+            @RequestParam(defaultValue = "100") int limit
+    ) {
+        try {
+            return ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_NDJSON)
+                    .body(investHistoryQueryService.streamSessionTurns(sessionId, after, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping(value = "/children/{childId}/chapters/{chapterId}/turns", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(
+            summary = "아이의 챕터별 턴 기록 조회",
+            description = "아이의 특정 챕터 턴 기록을 시작 시간 순서로 한 줄에 하나씩(NDJSON) 반환. 다음 페이지는 마지막 줄의 cursor를 after로 전달 (bucket 레이아웃에서는 limit이 세션 수)"
+    )
+    @ApiResponse(responseCode = "200", description = "성공 (NDJSON 스트림)")
+    @ApiResponse(responseCode = "400", description = "잘못된 요청 (잘못된 cursor, limit 범위 초과 등)")
+    public ResponseEntity<StreamingResponseBody> getChildChapterTurns(
+            @PathVariable UUID childId,
+            @PathVariable String chapterId,
+            @Parameter(description = "이전 응답 마지막 줄의 cursor") @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "100") int limit
+    ) {
+        try {
+            return ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_NDJSON)
+                    .body(investHistoryQueryService.streamChildTurns(childId, chapterId, after, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
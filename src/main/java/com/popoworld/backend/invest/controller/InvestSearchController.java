@@ -0,0 +1,93 @@
+package com.popoworld.backend.invest.controller;
+
+import com.popoworld.backend.invest.dto.response.ScenarioSearchResponse;
+import com.popoworld.backend.invest.dto.response.SessionSearchResponse;
+import com.popoworld.backend.invest.search.InvestSearchIndexer;
+import com.popoworld.backend.invest.search.InvestSearchService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@RequiredArgsConstructor
+@RestController
+@RequestMapping("/api/invest/search")
+@Tag(name="Invest Search", description = "시나리오 / 게임 세션 검색 API (부모 앱, ML)")
+public class InvestSearchController {
+
+    private final InvestSearchService investSearchService;
+    private final InvestSearchIndexer investSearchIndexer;
+
+    @GetMapping("/scenarios")
+    @Operation(
+            summary = "시나리오 검색",
+            description = "keyword가 있으면 스토리 본문 전문 검색(관련도순), chapterId/isCustom으로 필터"
+    )
+    @ApiResponse(responseCode = "200", description = "성공")
+    @ApiResponse(responseCode = "400", description = "잘못된 요청 (size 범위 초과 등)")
+    @ApiResponse(responseCode = "503", description = "검색 기능이 꺼져 있음")
+    public ResponseEntity<ScenarioSearchResponse> searchScenarios(
+            @Parameter(description = "스토리 검색어") @RequestParam(required = false) String keyword,
+            @RequestParam(required = false) String chapterId,
+            @Parameter(description = "부모가 만든 시나리오만/제외") @RequestParam(required = false) Boolean isCustom,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        try {
+            return ResponseEntity.ok(investSearchService.searchScenarios(keyword, chapterId, isCustom, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+    }
+
+    @GetMapping("/sessions")
+    @Operation(
+            summary = "게임 세션 검색",
+            description = "끝난 게임 세션을 최근 종료순으로 조회하고, 조건에 맞는 전체 세션의 평균 수익률/성공 횟수를 같이 반환"
+    )
+    @ApiResponse(responseCode = "200", description = "성공")
+    @ApiResponse(responseCode = "400", description = "잘못된 요청 (size 범위 초과, from > to 등)")
+    @ApiResponse(responseCode = "503", description = "검색 기능이 꺼져 있음")
+    public ResponseEntity<SessionSearchResponse> searchSessions(
+            @RequestParam(required = false) UUID childId,
+            @RequestParam(required = false) String chapterId,
+            @RequestParam(required = false) Boolean success,
+            @Parameter(description = "종료 시간 시작 (포함, ISO)") @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @Parameter(description = "종료 시간 끝 (미포함, ISO)") @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        try {
+            return ResponseEntity.ok(investSearchService.searchSessions(childId, chapterId, success, from, to, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+    }
+
+    @PostMapping("/reindex")
+    @Operation(
+            summary = "검색 인덱스 재색인",
+            description = "Postgres의 시나리오 / 끝난 게임 세션 전체를 bulk로 다시 색인 (최초 도입, 색인 유실 복구용)"
+    )
+    @ApiResponse(responseCode = "200", description = "색인 요청 완료 (반영까지 flush 주기만큼 걸릴 수 있음)")
+    @ApiResponse(responseCode = "503", description = "검색 기능이 꺼져 있음")
+    public ResponseEntity<InvestSearchIndexer.ReindexResult> reindex() {
+        try {
+            return ResponseEntity.ok(investSearchIndexer.reindexAll());
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.popoworld.backend.invest.controller;
 
 import com.popoworld.backend.invest.dto.request.CustomScenarioRequest;
 import com.popoworld.backend.invest.dto.request.DefaultScenarioRequest;
+import com.popoworld.backend.invest.dto.response.ScenarioCacheStatsResponse;
 import com.popoworld.backend.invest.service.ScenarioService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -54,4 +55,14 @@ public class ScenarioController {
                 return ResponseEntity.internalServerError().body("❌ 서버 오류: " + e.getMessage());
             }
         }
+
+        @GetMapping("/cache/stats")
+        @Operation(
+                summary = "챕터 시나리오 캐시 통계 조회",
+                description = "챕터 시작 시 사용하는 시나리오 캐시의 hit/miss/eviction 수치를 반환"
+        )
+        @ApiResponse(responseCode = "200", description = "성공")
+        public ResponseEntity<ScenarioCacheStatsResponse> getCacheStats() {
+            return ResponseEntity.ok(scenarioService.getCacheStats());
+        }
 }
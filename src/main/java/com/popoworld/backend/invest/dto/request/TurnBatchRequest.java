@@ -0,0 +1,18 @@
+package com.popoworld.backend.invest.dto.request;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class TurnBatchRequest {
+    private String sessionId;
+
+    private String chapterId;
+
+    private List<TurnDataRequest> turns; // 각 턴의 sessionId, chapterId는 비워서 보내도 됨 (위 값 사용)
+}
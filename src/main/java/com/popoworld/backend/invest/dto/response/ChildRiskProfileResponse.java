@@ -0,0 +1,46 @@
+package com.popoworld.backend.invest.dto.response;
+
+import com.popoworld.backend.invest.riskProfile.ChildRiskProfile;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.Map;
+
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChildRiskProfileResponse {
+    private Instant windowStart;
+    private Instant windowEnd;
+    private int turnCount;
+    private int buyCount;
+    private int sellCount;
+    private long sharesTraded;
+    private int plusClickTotal;
+    private int minusClickTotal;
+    private double tradesPerTurn;
+    private String preferredRiskLevel;
+    private Map<String, Integer> riskLevelCounts;
+    private Map<String, Integer> buyRiskLevelCounts;
+
+    public static ChildRiskProfileResponse of(Instant windowStart, Instant windowEnd, ChildRiskProfile profile) {
+        return ChildRiskProfileResponse.builder()
+                .windowStart(windowStart)
+                .windowEnd(windowEnd)
+                .turnCount(profile.getTurnCount())
+                .buyCount(profile.getBuyCount())
+                .sellCount(profile.getSellCount())
+                .sharesTraded(profile.getSharesTraded())
+                .plusClickTotal(profile.getPlusClickTotal())
+                .minusClickTotal(profile.getMinusClickTotal())
+                .tradesPerTurn(profile.tradesPerTurn())
+                .preferredRiskLevel(profile.preferredRiskLevel())
+                .riskLevelCounts(profile.getRiskLevelCounts())
+                .buyRiskLevelCounts(profile.getBuyRiskLevelCounts())
+                .build();
+    }
+}
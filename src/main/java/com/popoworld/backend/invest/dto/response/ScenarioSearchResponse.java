@@ -0,0 +1,16 @@
+package com.popoworld.backend.invest.dto.response;
+
+import com.popoworld.backend.invest.search.ScenarioDocument;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScenarioSearchResponse {
+    private long total;
+    private List<ScenarioDocument> hits;
+}
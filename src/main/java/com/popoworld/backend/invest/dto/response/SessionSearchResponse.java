@@ -0,0 +1,18 @@
+package com.popoworld.backend.invest.dto.response;
+
+import com.popoworld.backend.invest.search.SessionSummaryDocument;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class SessionSearchResponse {
+    private long total;
+    private Double avgProfit;     // 조건에 맞는 전체 세션 평균 수익률 (세션이 없으면 null)
+    private long successCount;    // 조건에 맞는 전체 세션 중 성공 횟수
+    private List<SessionSummaryDocument> hits;
+}
@@ -0,0 +1,80 @@
+package com.popoworld.backend.invest.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.popoworld.backend.invest.entity.InvestHistory;
+import com.popoworld.backend.invest.entity.InvestSessionHistory;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * 턴 기록 조회 응답 (NDJSON 한 줄)
+ * cursor: 다음 페이지를 요청할 때 마지막 줄의 값을 after로 그대로 넘김
+ */
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TurnHistoryResponse {
+    private UUID investSessionId;
+    private Integer turn;
+    private String riskLevel;
+    private Integer currentPoint;
+    private Integer beforeValue;
+    private Integer currentValue;
+    private Integer initialValue;
+    private Integer numberOfShares;
+    private Integer income;
+    private String transactionType;
+    private Integer plusClick;
+    private Integer minusClick;
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime startedAt;
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime endedAt;
+    private String cursor;
+
+    public static TurnHistoryResponse from(InvestHistory history, String cursor) {
+        return TurnHistoryResponse.builder()
+                .investSessionId(history.getInvestSessionId())
+                .turn(history.getTurn())
+                .riskLevel(history.getRiskLevel())
+                .currentPoint(history.getCurrentPoint())
+                .beforeValue(history.getBeforeValue())
+                .currentValue(history.getCurrentValue())
+                .initialValue(history.getInitialValue())
+                .numberOfShares(history.getNumberOfShares())
+                .income(history.getIncome())
+                .transactionType(history.getTransactionType())
+                .plusClick(history.getPlusClick())
+                .minusClick(history.getMinusClick())
+                .startedAt(history.getStartedAt())
+                .endedAt(history.getEndedAt())
+                .cursor(cursor)
+                .build();
+    }
+
+    public static TurnHistoryResponse from(UUID investSessionId, InvestSessionHistory.Turn turn, String cursor) {
+        return TurnHistoryResponse.builder()
+                .investSessionId(investSessionId)
+                .turn(turn.getTurn())
+                .riskLevel(turn.getRiskLevel())
+                .currentPoint(turn.getCurrentPoint())
+                .beforeValue(turn.getBeforeValue())
+                .currentValue(turn.getCurrentValue())
+                .initialValue(turn.getInitialValue())
+                .numberOfShares(turn.getNumberOfShares())
+                .income(turn.getIncome())
+                .transactionType(turn.getTransactionType())
+                .plusClick(turn.getPlusClick())
+                .minusClick(turn.getMinusClick())
+                .startedAt(turn.getStartedAt())
+                .endedAt(turn.getEndedAt())
+                .cursor(cursor)
+                .build();
+    }
+}
@@ -6,12 +6,20 @@ import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Document(collection = "invest_history")
+@CompoundIndexes({
+        // 세션별 턴 조회
+        @CompoundIndex(name = "idx_session_turn", def = "{'investSessionId': 1, 'turn': 1}"),
+        // 아이별/챕터별 기록 조회 (_id는 startedAt이 같은 턴끼리 keyset 순서를 정하기 위해 포함)
+        @CompoundIndex(name = "idx_child_chapter_started", def = "{'childId': 1, 'chapterId': 1, 'startedAt': 1, '_id': 1}")
+})
 @Getter
 @NoArgsConstructor
 @AllArgsConstructor
@@ -29,6 +29,21 @@ public class InvestSession {
 
     private Integer profit;
 
+    // 턴 기록 집계 (컨슈머가 배치마다 invest_session_aggregate와 같이 갱신, turnCount가 더 클 때만 덮어씀)
+    private Integer turnCount;
+
+    private Long totalIncome;
+
+    private Integer buyCount;
+
+    private Integer sellCount;
+
+    private Integer plusClickTotal;
+
+    private Integer minusClickTotal;
+
+    private Integer maxDrawdown;
+
     @ManyToOne(fetch= FetchType.LAZY)
     @JoinColumn(name="scenario_id")
     private InvestScenario investScenario;
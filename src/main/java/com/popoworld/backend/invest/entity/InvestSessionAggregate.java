@@ -0,0 +1,115 @@
+package com.popoworld.backend.invest.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 세션별 투자 기록 집계 (InvestHistoryKafkaConsumer가 저장하면서 누적)
+ * 컨슈머가 배치마다 InvestSession 집계 컬럼도 같이 갱신하므로 세션 요약은 턴을 다시 읽지 않고 바로 조회
+ * (챕터를 끝낼 때도 한 번 더 복사 - write-behind로 세션 행이 늦게 저장된 경우 대비)
+ */
+@Document(collection = "invest_session_aggregate")
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class InvestSessionAggregate {
+
+    @Id
+    private UUID investSessionId;
+
+    private UUID childId;
+
+    private String chapterId;
+
+    private List<AppliedTurn> appliedTurns = new ArrayList<>(); //반영한 턴 번호 (같은 번호가 다시 오면 재전송으로 보고 건너뜀)
+
+    private int turnCount; //반영한 턴 수 - 턴이 반영될 때마다 늘어나므로 저장 시 버전으로도 사용
+
+    private long totalIncome; //SELL 시점 시세차익 합계
+
+    private int buyCount;
+
+    private int sellCount;
+
+    private int plusClickTotal;
+
+    private int minusClickTotal;
+
+    private int maxDrawdown; //턴 순서대로 봤을 때 고점 대비 currentValue가 가장 많이 떨어진 폭
+
+    /**
+     * 반영한 턴 하나 (하락폭을 턴 순서대로 다시 계산하기 위해 currentValue도 보관)
+     */
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class AppliedTurn {
+        private int turn;
+        private Integer currentValue;
+    }
+
+    public static InvestSessionAggregate start(InvestHistory history) {
+        InvestSessionAggregate aggregate = new InvestSessionAggregate();
+        aggregate.investSessionId = history.getInvestSessionId();
+        aggregate.childId = history.getChildId();
+        aggregate.chapterId = history.getChapterId();
+        return aggregate;
+    }
+
+    /**
+     * 턴 하나 반영 (이미 반영한 턴 번호면 false)
+     * 턴 번호 집합으로 중복을 거르므로 0부터 시작하는 턴이나, 뒤 턴 다음에 재전송된 앞 턴도 한 번씩 반영됨
+     */
+    public boolean fold(InvestHistory history) {
+        Integer turn = history.getTurn();
+        if (turn == null || appliedTurns.stream().anyMatch(applied -> applied.getTurn() == turn)) {
+            return false;
+        }
+        appliedTurns.add(new AppliedTurn(turn, history.getCurrentValue()));
+        turnCount++;
+
+        if ("BUY".equalsIgnoreCase(history.getTransactionType())) {
+            buyCount++;
+        } else if ("SELL".equalsIgnoreCase(history.getTransactionType())) {
+            sellCount++;
+        }
+        if (history.getIncome() != null) {
+            totalIncome += history.getIncome();
+        }
+        if (history.getPlusClick() != null) {
+            plusClickTotal += history.getPlusClick();
+        }
+        if (history.getMinusClick() != null) {
+            minusClickTotal += history.getMinusClick();
+        }
+        if (history.getCurrentValue() != null) {
+            maxDrawdown = drawdownInTurnOrder();
+        }
+        return true;
+    }
+
+    // 턴이 순서 없이 들어와도 같은 결과가 나오도록 턴 번호 순서로 다시 계산 (세션당 턴 수가 적어서 매번 계산)
+    private int drawdownInTurnOrder() {
+        Integer peak = null;
+        int drawdown = 0;
+        for (AppliedTurn applied : appliedTurns.stream().sorted(Comparator.comparingInt(AppliedTurn::getTurn)).toList()) {
+            Integer currentValue = applied.getCurrentValue();
+            if (currentValue == null) {
+                continue;
+            }
+            if (peak == null || currentValue > peak) {
+                peak = currentValue;
+            }
+            drawdown = Math.max(drawdown, peak - currentValue);
+        }
+        return drawdown;
+    }
+}
@@ -0,0 +1,86 @@
+package com.popoworld.backend.invest.entity;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 세션 단위로 묶은 투자 기록 (invest-history.mongo.layout=bucket)
+ * 게임 한 판(세션)당 문서 하나, 턴은 turns 배열에 upsert로 추가
+ * → 문서 수/인덱스 크기가 턴 수만큼 줄고, 세션 조회는 _id로 문서 하나만 읽음
+ */
+@Document(collection = "invest_session_history")
+// _id는 startedAt이 같은 세션끼리 keyset 순서를 정하기 위해 포함
+@CompoundIndex(name = "idx_child_chapter_started", def = "{'childId': 1, 'chapterId': 1, 'startedAt': 1, '_id': 1}")
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class InvestSessionHistory {
+
+    @Id
+    private UUID investSessionId; //게임 구분
+
+    private UUID childId; //사용자 구분
+
+    private String chapterId; //챕터 구분
+
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime startedAt; //가장 이른 턴 시작 시간
+
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime lastEndedAt; //가장 늦은 턴 끝나는 시간
+
+    private List<Turn> turns;
+
+    /**
+     * 턴 하나 (InvestHistory에서 세션 공통 필드를 뺀 것)
+     */
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Turn {
+        private UUID id; //InvestHistory id (재전송된 메시지는 같은 값이라 $addToSet에서 걸러짐)
+        private Integer turn;
+        private String riskLevel;
+        private Integer currentPoint;
+        private Integer beforeValue;
+        private Integer currentValue;
+        private Integer initialValue;
+        private Integer numberOfShares;
+        private Integer income;
+        private String transactionType;
+        private Integer plusClick;
+        private Integer minusClick;
+        @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd'T'HH:mm:ss")
+        private LocalDateTime startedAt;
+        @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd'T'HH:mm:ss")
+        private LocalDateTime endedAt;
+
+        public static Turn from(InvestHistory history) {
+            return new Turn(
+                    history.getId(),
+                    history.getTurn(),
+                    history.getRiskLevel(),
+                    history.getCurrentPoint(),
+                    history.getBeforeValue(),
+                    history.getCurrentValue(),
+                    history.getInitialValue(),
+                    history.getNumberOfShares(),
+                    history.getIncome(),
+                    history.getTransactionType(),
+                    history.getPlusClick(),
+                    history.getMinusClick(),
+                    history.getStartedAt(),
+                    history.getEndedAt()
+            );
+        }
+    }
+}
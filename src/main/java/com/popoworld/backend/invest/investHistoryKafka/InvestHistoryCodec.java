@@ -0,0 +1,131 @@
+package com.popoworld.backend.invest.investHistoryKafka;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.popoworld.backend.invest.entity.InvestHistory;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+/**
+ * InvestHistory <-> Kafka 레코드 바이트 변환
+ * - JSON: 공유 ObjectMapper로 바로 byte[] 작성 (중간 String 없음)
+ * - BINARY: 고정 순서 필드 + null 비트마스크로 작성하는 압축 포맷
+ * 읽을 때는 첫 바이트로 포맷을 판별하므로 두 포맷이 한 토픽에 섞여 있어도 된다.
+ */
+public final class InvestHistoryCodec {
+
+    public static final String FORMAT_CONFIG = "invest-history.serialization.format";
+
+    private static final byte BINARY_V1 = 0x01;
+    private static final byte JSON_START = '{';
+
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    public enum Format {
+        JSON, BINARY
+    }
+
+    private InvestHistoryCodec() {
+    }
+
+    public static Format formatOf(Object configValue) {
+        return configValue == null ? Format.JSON : Format.valueOf(configValue.toString().trim().toUpperCase());
+    }
+
+    public static byte[] encode(InvestHistory history, Format format) throws IOException {
+        return format == Format.BINARY ? encodeBinary(history) : MAPPER.writeValueAsBytes(history);
+    }
+
+    public static InvestHistory decode(byte[] data) throws IOException {
+        if (data[0] == JSON_START) {
+            return MAPPER.readValue(data, InvestHistory.class);
+        }
+        if (data[0] == BINARY_V1) {
+            return decodeBinary(data);
+        }
+        throw new IOException("알 수 없는 InvestHistory 포맷: " + data[0]);
+    }
+
+    private static byte[] encodeBinary(InvestHistory h) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(160);
+        DataOutputStream out = new DataOutputStream(bytes);
+
+        Object[] fields = {
+                h.getId(), h.getInvestSessionId(), h.getChapterId(), h.getChildId(), h.getTurn(),
+                h.getRiskLevel(), h.getCurrentPoint(), h.getBeforeValue(), h.getCurrentValue(), h.getInitialValue(),
+                h.getNumberOfShares(), h.getIncome(), h.getTransactionType(), h.getPlusClick(), h.getMinusClick(),
+                h.getStartedAt(), h.getEndedAt()
+        };
+        int presence = 0;
+        for (int i = 0; i < fields.length; i++) {
+            if (fields[i] != null) {
+                presence |= 1 << i;
+            }
+        }
+
+        out.writeByte(BINARY_V1);
+        out.writeInt(presence);
+        for (Object field : fields) {
+            if (field instanceof UUID uuid) {
+                out.writeLong(uuid.getMostSignificantBits());
+                out.writeLong(uuid.getLeastSignificantBits());
+            } else if (field instanceof Integer value) {
+                out.writeInt(value);
+            } else if (field instanceof String value) {
+                out.writeUTF(value);
+            } else if (field instanceof LocalDateTime value) {
+                out.writeLong(value.toEpochSecond(ZoneOffset.UTC));
+                out.writeInt(value.getNano());
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    private static InvestHistory decodeBinary(byte[] data) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(data, 1, data.length - 1));
+        int presence = in.readInt();
+        int bit = 0;
+
+        return new InvestHistory(
+                has(presence, bit++) ? readUuid(in) : null,          // id
+                has(presence, bit++) ? readUuid(in) : null,          // investSessionId
+                has(presence, bit++) ? in.readUTF() : null,          // chapterId
+                has(presence, bit++) ? readUuid(in) : null,          // childId
+                has(presence, bit++) ? in.readInt() : null,          // turn
+                has(presence, bit++) ? in.readUTF() : null,          // riskLevel
+                has(presence, bit++) ? in.readInt() : null,          // currentPoint
+                has(presence, bit++) ? in.readInt() : null,          // beforeValue
+                has(presence, bit++) ? in.readInt() : null,          // currentValue
+                has(presence, bit++) ? in.readInt() : null,          // initialValue
+                has(presence, bit++) ? in.readInt() : null,          // numberOfShares
+                has(presence, bit++) ? in.readInt() : null,          // income
+                has(presence, bit++) ? in.readUTF() : null,          // transactionType
+                has(presence, bit++) ? in.readInt() : null,          // plusClick
+                has(presence, bit++) ? in.readInt() : null,          // minusClick
+                has(presence, bit++) ? readDateTime(in) : null,      // startedAt
+                has(presence, bit) ? readDateTime(in) : null         // endedAt
+        );
+    }
+
+    private static boolean has(int presence, int bit) {
+        return (presence & (1 << bit)) != 0;
+    }
+
+    private static UUID readUuid(DataInputStream in) throws IOException {
+        return new UUID(in.readLong(), in.readLong());
+    }
+
+    private static LocalDateTime readDateTime(DataInputStream in) throws IOException {
+        return LocalDateTime.ofEpochSecond(in.readLong(), in.readInt(), ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,26 @@
+package com.popoworld.backend.invest.investHistoryKafka;
+
+import com.popoworld.backend.invest.entity.InvestHistory;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Deserializer;
+
+import java.io.IOException;
+
+/**
+ * 컨슈머 value-deserializer
+ * 포맷은 레코드 첫 바이트로 판별하므로 별도 설정이 필요 없다.
+ */
+public class InvestHistoryDeserializer implements Deserializer<InvestHistory> {
+
+    @Override
+    public InvestHistory deserialize(String topic, byte[] data) {
+        if (data == null || data.length == 0) {
+            return null;
+        }
+        try {
+            return InvestHistoryCodec.decode(data);
+        } catch (IOException e) {
+            throw new SerializationException("InvestHistory 역직렬화 실패", e);
+        }
+    }
+}
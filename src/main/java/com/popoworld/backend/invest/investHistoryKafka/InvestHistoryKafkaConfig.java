@@ -0,0 +1,93 @@
+package com.popoworld.backend.invest.investHistoryKafka;
+
+import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.kafka.ConcurrentKafkaListenerContainerFactoryConfigurer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.config.TopicBuilder;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.util.backoff.ExponentialBackOff;
+
+import java.util.Properties;
+
+@Configuration
+public class InvestHistoryKafkaConfig {
+
+    public static final String TOPIC = "invest-history";
+
+    @Value("${invest-history.kafka.topic.partitions:6}")
+    private int partitions;
+
+    @Value("${invest-history.kafka.topic.replicas:1}")
+    private int replicas;
+
+    @Value("${invest-history.kafka.consumer.concurrency:${invest-history.kafka.topic.partitions:6}}")
+    private int concurrency; // 기본값 = 파티션 수 (파티션 하나당 컨슈머 스레드 하나)
+
+    @Value("${invest-history.kafka.consumer.max-records:500}")
+    private int maxRecords; // 한 번의 poll로 가져올 최대 레코드 수 (= 한 번의 bulk insert 크기)
+
+    @Value("${invest-history.kafka.consumer.max-wait-ms:500}")
+    private int maxWaitMs; // 배치가 덜 찼을 때 브로커가 기다려주는 최대 시간
+
+    @Value("${invest-history.kafka.consumer.min-bytes:16384}")
+    private int minBytes; // 이 크기만큼 쌓이기 전까지는 max-wait-ms 동안 대기
+
+    @Value("${invest-history.kafka.consumer.error-backoff-initial-ms:1000}")
+    private long errorBackoffInitialMs; // 리스너가 예외를 던졌을 때 배치 재전달 첫 대기 시간
+
+    @Value("${invest-history.kafka.consumer.error-backoff-max-ms:60000}")
+    private long errorBackoffMaxMs; // 재전달 대기 시간 상한 (두 배씩 늘어나다가 여기서 고정)
+
+    /**
+     * invest-history 토픽 선언
+     * 레코드 키가 investSessionId라서 한 세션의 턴은 항상 같은 파티션에 순서대로 쌓인다.
+     * (파티션 수를 늘리면 기존 세션의 키→파티션 매핑이 바뀌므로 진행 중인 게임이 없을 때 변경)
+     */
+    @Bean
+    public NewTopic investHistoryTopic() {
+        return TopicBuilder.name(TOPIC)
+                .partitions(partitions)
+                .replicas(replicas)
+                .build();
+    }
+
+    /**
+     * invest-history 배치 리스너용 컨테이너 팩토리
+     * - poll 한 번에 받은 레코드를 List로 전달
+     * - 오프셋은 리스너가 ack 했을 때(= MongoDB bulk insert 성공 후)에만 커밋
+     * - 파티션 수만큼 컨슈머 스레드를 띄워서 세션끼리는 병렬, 한 세션의 턴은 한 스레드에서 순서대로 처리
+     * - 리스너가 예외를 던지면(MongoDB 장애 등) 같은 배치를 횟수 제한 없이 다시 전달
+     *   (기본 에러 핸들러는 10번 시도 후 건너뛰고 오프셋을 커밋해서 턴 기록이 사라짐)
+     */
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<Object, Object> investHistoryBatchListenerFactory(
+            ConcurrentKafkaListenerContainerFactoryConfigurer configurer,
+            ConsumerFactory<Object, Object> kafkaConsumerFactory) {
+        ConcurrentKafkaListenerContainerFactory<Object, Object> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        configurer.configure(factory, kafkaConsumerFactory);
+
+        factory.setBatchListener(true);
+        factory.setConcurrency(concurrency);
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL_IMMEDIATE);
+
+        Properties consumerProperties = new Properties();
+        consumerProperties.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, "false");
+        consumerProperties.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, String.valueOf(maxRecords));
+        consumerProperties.put(ConsumerConfig.FETCH_MAX_WAIT_MS_CONFIG, String.valueOf(maxWaitMs));
+        consumerProperties.put(ConsumerConfig.FETCH_MIN_BYTES_CONFIG, String.valueOf(minBytes));
+        factory.getContainerProperties().setKafkaConsumerProperties(consumerProperties);
+
+        // maxElapsedTime 기본값이 무제한 → 저장될 때까지 파티션을 멈춰두고 재시도 (대기 중에도 poll은 계속해서 리밸런싱 방지)
+        ExponentialBackOff backOff = new ExponentialBackOff(errorBackoffInitialMs, 2.0);
+        backOff.setMaxInterval(errorBackoffMaxMs);
+        factory.setCommonErrorHandler(new DefaultErrorHandler(backOff));
+
+        return factory;
+    }
+}
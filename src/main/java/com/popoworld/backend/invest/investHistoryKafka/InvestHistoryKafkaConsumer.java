@@ -1,38 +1,87 @@
 package com.popoworld.backend.invest.investHistoryKafka;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.popoworld.backend.invest.entity.InvestHistory;
 import com.popoworld.backend.invest.repository.InvestHistoryMongoRepository;
+import com.popoworld.backend.invest.repository.InvestSessionHistoryRepository;
+import com.popoworld.backend.invest.service.InvestSessionAggregator;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.Acknowledgment;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.List;
+
 @Component
 @RequiredArgsConstructor
+@Slf4j
 public class InvestHistoryKafkaConsumer {
     private final InvestHistoryMongoRepository investHistoryMongoRepository;
+    private final InvestSessionHistoryRepository investSessionHistoryRepository;
+    private final InvestSessionAggregator investSessionAggregator;
+
+    // turn: 턴마다 문서 하나 (invest_history) / bucket: 세션마다 문서 하나 (invest_session_history)
+    @Value("${invest-history.mongo.layout:turn}")
+    private String layout;
+
+    @Value("${invest-history.kafka.consumer.max-insert-attempts:3}")
+    private int maxInsertAttempts;
+
+    @Value("${invest-history.kafka.consumer.retry-backoff-ms:200}")
+    private long retryBackoffMs;
 
-    @KafkaListener(topics = "invest-history", groupId = "invest-consumer-group")
-    public void consume(String message) {
-        System.out.println("🔍 Kafka 메시지 수신: " + message);
+    /**
+     * poll 한 번에 받은 메시지를 모아서 MongoDB에 한 번에 bulk insert (bucket 레이아웃이면 세션별 bulk upsert)
+     * bulk insert가 끝난 뒤에만 ack → 오프셋 커밋
+     * 한 배치 안에서 같은 세션(= 같은 파티션)의 턴은 오프셋 순서 그대로 들어온다.
+     */
+    @KafkaListener(topics = InvestHistoryKafkaConfig.TOPIC, groupId = "invest-consumer-group",
+            containerFactory = "investHistoryBatchListenerFactory")
+    public void consume(List<InvestHistory> messages, Acknowledgment ack) throws InterruptedException {
+        log.info("🔍 Kafka 메시지 {}건 수신", messages.size());
 
-        try {
-            ObjectMapper objectMapper = new ObjectMapper();
-            objectMapper.registerModule(new JavaTimeModule());
+        // 1. 역직렬화는 InvestHistoryDeserializer가 처리
+        //    (역직렬화에 실패한 레코드는 ErrorHandlingDeserializer가 null로 넘겨주므로 건너뜀)
+        List<InvestHistory> histories = new ArrayList<>(messages.size());
+        for (InvestHistory history : messages) {
+            if (history == null) {
+                log.error("❌ 역직렬화 실패한 메시지 건너뜀");
+                continue;
+            }
+            histories.add(history);
+        }
+
+        // 2. bulk insert, 실패한 문서만 재시도
+        List<InvestHistory> pending = histories;
+        for (int attempt = 1; !pending.isEmpty(); attempt++) {
+            pending = store(pending);
+            if (pending.isEmpty()) {
+                break;
+            }
+            if (attempt >= maxInsertAttempts) {
+                // ack 하지 않고 예외를 던져서 컨테이너가 배치를 다시 전달하게 함
+                throw new IllegalStateException("MongoDB 저장 실패 - " + pending.size() + "건 재시도 초과");
+            }
+            log.warn("⚠️ MongoDB 저장 실패 {}건 재시도 ({}/{})", pending.size(), attempt, maxInsertAttempts);
+            Thread.sleep(retryBackoffMs * attempt);
+        }
 
-            InvestHistory history = objectMapper.readValue(message, InvestHistory.class);
-            System.out.println("📝 파싱된 데이터: " + history.toString());
+        // 3. 세션별 집계 갱신 (실패하면 ack 없이 예외 → 배치 재전달, 이미 반영한 턴은 건너뜀)
+        investSessionAggregator.aggregate(histories);
 
-            InvestHistory savedHistory = investHistoryMongoRepository.save(history);
-            System.out.println("✅ MongoDB 저장 완료 - ID: " + savedHistory.getId());
-            System.out.println("📊 저장된 데이터 확인: " + savedHistory);
+        // 4. 전부 저장된 뒤에만 오프셋 커밋
+        ack.acknowledge();
+        log.info("✅ MongoDB 저장 완료 - {}건", histories.size());
+    }
 
-        } catch (Exception e) {
-            System.err.println("❌ 에러 발생 - 메시지: " + message);
-            System.err.println("❌ 에러 내용: " + e.getMessage());
-            e.printStackTrace();
+    // 저장에 실패한 기록만 돌려줌
+    private List<InvestHistory> store(List<InvestHistory> histories) {
+        if ("bucket".equalsIgnoreCase(layout)) {
+            return investSessionHistoryRepository.appendTurns(histories);
         }
+        return investHistoryMongoRepository.insertAllUnordered(histories);
     }
 
 }
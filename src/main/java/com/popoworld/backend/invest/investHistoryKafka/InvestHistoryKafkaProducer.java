@@ -1,15 +1,70 @@
 package com.popoworld.backend.invest.investHistoryKafka;
 
-import lombok.RequiredArgsConstructor;
+import com.popoworld.backend.invest.entity.InvestHistory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Service;
 
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+
 @Service
-@RequiredArgsConstructor
 public class InvestHistoryKafkaProducer {
-    private final KafkaTemplate<String,String> kafkaTemplate;
+    private final KafkaTemplate<String, InvestHistory> kafkaTemplate;
+    private final int maxInFlight;
+    private final Semaphore inFlight; // 브로커 ack를 기다리는 전송 건수 제한
+
+    public InvestHistoryKafkaProducer(KafkaTemplate<String, InvestHistory> kafkaTemplate,
+                                      @Value("${invest-history.kafka.producer.max-in-flight:1000}") int maxInFlight) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.maxInFlight = maxInFlight;
+        this.inFlight = new Semaphore(maxInFlight);
+    }
+
+    /**
+     * investSessionId를 키로 전송 → 한 세션의 턴은 같은 파티션에 순서대로 저장
+     * 브로커 ack 시점에 완료되는 future 반환
+     * 한도가 차 있으면 기다리지 않고 InvestHistoryOverloadedException으로 바로 실패
+     */
+    public CompletableFuture<SendResult<String, InvestHistory>> sendInvestHistory(String topic, InvestHistory history){
+        if (!inFlight.tryAcquire()) {
+            return CompletableFuture.failedFuture(new InvestHistoryOverloadedException(maxInFlight));
+        }
+        try {
+            return kafkaTemplate.send(topic, history.getInvestSessionId().toString(), history)
+                    .whenComplete((result, e) -> inFlight.release());
+        } catch (RuntimeException e) {
+            inFlight.release();
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * 한 세션의 여러 턴을 같은 키로 연달아 전송 (같은 파티션 → 순서 유지, 프로듀서 배치로 묶임)
+     * 배치 크기만큼의 한도를 한 번에 확보하고, 모든 레코드가 ack 되면 완료
+     */
+    public CompletableFuture<Void> sendInvestHistoryBatch(String topic, String key, List<InvestHistory> histories){
+        int permits = histories.size();
+        if (!inFlight.tryAcquire(permits)) {
+            return CompletableFuture.failedFuture(new InvestHistoryOverloadedException(maxInFlight));
+        }
 
-    public void sendInvestHistory(String topic, String message){
-        kafkaTemplate.send(topic,message);
+        CompletableFuture<?>[] sends = new CompletableFuture<?>[permits];
+        int sent = 0;
+        try {
+            for (InvestHistory history : histories) {
+                sends[sent] = kafkaTemplate.send(topic, key, history)
+                        .whenComplete((result, e) -> inFlight.release());
+                sent++;
+            }
+        } catch (RuntimeException e) {
+            inFlight.release(permits - sent);
+            sends[sent] = CompletableFuture.failedFuture(e);
+            return CompletableFuture.allOf(Arrays.copyOf(sends, sent + 1));
+        }
+        return CompletableFuture.allOf(sends);
     }
 }
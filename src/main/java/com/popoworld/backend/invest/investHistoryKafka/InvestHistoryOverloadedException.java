@@ -0,0 +1,10 @@
+package com.popoworld.backend.invest.investHistoryKafka;
+
+/**
+ * 브로커 응답을 기다리는 전송 건수가 한도(max-in-flight)를 넘었을 때 발생
+ */
+public class InvestHistoryOverloadedException extends RuntimeException {
+    public InvestHistoryOverloadedException(int maxInFlight) {
+        super("카프카 전송 대기 건수가 한도(" + maxInFlight + ")를 초과했습니다.");
+    }
+}
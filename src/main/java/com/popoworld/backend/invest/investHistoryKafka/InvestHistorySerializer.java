@@ -0,0 +1,34 @@
+package com.popoworld.backend.invest.investHistoryKafka;
+
+import com.popoworld.backend.invest.entity.InvestHistory;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Serializer;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * 프로듀서 value-serializer
+ * invest-history.serialization.format = json(기본) | binary
+ */
+public class InvestHistorySerializer implements Serializer<InvestHistory> {
+
+    private InvestHistoryCodec.Format format = InvestHistoryCodec.Format.JSON;
+
+    @Override
+    public void configure(Map<String, ?> configs, boolean isKey) {
+        format = InvestHistoryCodec.formatOf(configs.get(InvestHistoryCodec.FORMAT_CONFIG));
+    }
+
+    @Override
+    public byte[] serialize(String topic, InvestHistory history) {
+        if (history == null) {
+            return null;
+        }
+        try {
+            return InvestHistoryCodec.encode(history, format);
+        } catch (IOException e) {
+            throw new SerializationException("InvestHistory 직렬화 실패", e);
+        }
+    }
+}
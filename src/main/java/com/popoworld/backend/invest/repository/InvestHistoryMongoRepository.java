@@ -5,5 +5,5 @@ import org.springframework.data.mongodb.repository.MongoRepository;
 
 import java.util.UUID;
 
-public interface InvestHistoryMongoRepository extends MongoRepository<InvestHistory, UUID> {
+public interface InvestHistoryMongoRepository extends MongoRepository<InvestHistory, UUID>, InvestHistoryMongoRepositoryCustom {
 }
@@ -0,0 +1,13 @@
+package com.popoworld.backend.invest.repository;
+
+import com.popoworld.backend.invest.entity.InvestHistory;
+
+import java.util.List;
+
+public interface InvestHistoryMongoRepositoryCustom {
+    /**
+     * 한 번의 unordered bulk insert로 저장하고, 저장에 실패한 문서만 돌려준다.
+     * 이미 저장된 문서(중복 _id)는 성공으로 취급한다. (재전송된 메시지 대비)
+     */
+    List<InvestHistory> insertAllUnordered(List<InvestHistory> histories);
+}
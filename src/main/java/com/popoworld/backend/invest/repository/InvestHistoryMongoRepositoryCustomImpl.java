@@ -0,0 +1,43 @@
+package com.popoworld.backend.invest.repository;
+
+import com.mongodb.bulk.BulkWriteError;
+import com.popoworld.backend.invest.entity.InvestHistory;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class InvestHistoryMongoRepositoryCustomImpl implements InvestHistoryMongoRepositoryCustom {
+
+    private static final int DUPLICATE_KEY = 11000;
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public List<InvestHistory> insertAllUnordered(List<InvestHistory> histories) {
+        if (histories.isEmpty()) {
+            return List.of();
+        }
+
+        BulkOperations bulkOps = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, InvestHistory.class);
+        bulkOps.insert(histories);
+
+        try {
+            bulkOps.execute();
+            return List.of();
+        } catch (BulkOperationException e) {
+            // unordered 모드라 실패한 문서를 제외한 나머지는 이미 저장된 상태
+            List<InvestHistory> failed = new ArrayList<>();
+            for (BulkWriteError error : e.getErrors()) {
+                if (error.getCode() != DUPLICATE_KEY) {
+                    failed.add(histories.get(error.getIndex()));
+                }
+            }
+            return failed;
+        }
+    }
+}
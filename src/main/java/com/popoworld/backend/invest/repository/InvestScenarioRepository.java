@@ -1,9 +1,11 @@
 package com.popoworld.backend.invest.repository;
 
 import com.popoworld.backend.invest.entity.InvestScenario;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.UUID;
 
 @Repository
@@ -18,4 +20,7 @@ public interface InvestScenarioRepository extends JpaRepository<InvestScenario,
 
     // 새로 추가 - 특정 챕터 중에서 가장 오래된 미업데이트 시나리오 찾기
     InvestScenario findTopByInvestChapter_ChapterIdAndUpdatedAtIsNullOrderByCreateAtAsc(String chapterId);
+
+    // 검색 재색인용 - scenarioId 순서로 after 다음부터 한 페이지씩 (keyset)
+    List<InvestScenario> findByScenarioIdGreaterThanOrderByScenarioIdAsc(UUID after, Pageable pageable);
 }
@@ -0,0 +1,9 @@
+package com.popoworld.backend.invest.repository;
+
+import com.popoworld.backend.invest.entity.InvestSessionAggregate;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+import java.util.UUID;
+
+public interface InvestSessionAggregateRepository extends MongoRepository<InvestSessionAggregate, UUID>, InvestSessionAggregateRepositoryCustom {
+}
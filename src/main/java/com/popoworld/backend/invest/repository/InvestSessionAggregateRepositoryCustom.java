@@ -0,0 +1,13 @@
+package com.popoworld.backend.invest.repository;
+
+import com.popoworld.backend.invest.entity.InvestSessionAggregate;
+
+import java.util.List;
+
+public interface InvestSessionAggregateRepositoryCustom {
+    /**
+     * 한 번의 unordered bulk upsert로 집계를 교체한다.
+     * 저장된 집계가 이미 같거나 더 많은 턴(turnCount)을 반영하고 있으면 덮어쓰지 않는다. (재전송된 배치 대비)
+     */
+    void saveAllIfNewer(List<InvestSessionAggregate> aggregates);
+}
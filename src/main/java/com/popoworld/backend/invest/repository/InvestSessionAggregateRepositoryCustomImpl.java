@@ -0,0 +1,48 @@
+package com.popoworld.backend.invest.repository;
+
+import com.mongodb.bulk.BulkWriteError;
+import com.popoworld.backend.invest.entity.InvestSessionAggregate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndReplaceOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.List;
+
+@RequiredArgsConstructor
+public class InvestSessionAggregateRepositoryCustomImpl implements InvestSessionAggregateRepositoryCustom {
+
+    private static final int DUPLICATE_KEY = 11000;
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public void saveAllIfNewer(List<InvestSessionAggregate> aggregates) {
+        if (aggregates.isEmpty()) {
+            return;
+        }
+
+        BulkOperations bulkOps = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, InvestSessionAggregate.class);
+        for (InvestSessionAggregate aggregate : aggregates) {
+            Query newer = Query.query(Criteria.where("_id").is(aggregate.getInvestSessionId())
+                    .and("turnCount").lt(aggregate.getTurnCount()));
+            bulkOps.replaceOne(newer, aggregate, FindAndReplaceOptions.options().upsert());
+        }
+
+        try {
+            bulkOps.execute();
+        } catch (BulkOperationException e) {
+            // 저장된 집계가 더 최신이면 조건에 안 맞아서 insert를 시도하다 중복 키로 실패 → 덮어쓰지 않은 것이므로 성공으로 취급
+            long failed = e.getErrors().stream()
+                    .mapToInt(BulkWriteError::getCode)
+                    .filter(code -> code != DUPLICATE_KEY)
+                    .count();
+            if (failed > 0) {
+                throw new IllegalStateException("세션 집계 저장 실패 - " + failed + "건", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.popoworld.backend.invest.repository;
+
+import com.popoworld.backend.invest.entity.InvestSessionHistory;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+import java.util.UUID;
+
+public interface InvestSessionHistoryRepository extends MongoRepository<InvestSessionHistory, UUID>, InvestSessionHistoryRepositoryCustom {
+}
@@ -0,0 +1,13 @@
+package com.popoworld.backend.invest.repository;
+
+import com.popoworld.backend.invest.entity.InvestHistory;
+
+import java.util.List;
+
+public interface InvestSessionHistoryRepositoryCustom {
+    /**
+     * 턴들을 세션별로 묶어서 세션 문서에 한 번의 unordered bulk upsert로 추가하고, 저장에 실패한 턴만 돌려준다.
+     * 같은 턴이 다시 들어와도 $addToSet이라 중복 저장되지 않는다. (재전송된 메시지 대비)
+     */
+    List<InvestHistory> appendTurns(List<InvestHistory> histories);
+}
@@ -0,0 +1,71 @@
+package com.popoworld.backend.invest.repository;
+
+import com.mongodb.bulk.BulkWriteError;
+import com.popoworld.backend.invest.entity.InvestHistory;
+import com.popoworld.backend.invest.entity.InvestSessionHistory;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+
+@RequiredArgsConstructor
+public class InvestSessionHistoryRepositoryCustomImpl implements InvestSessionHistoryRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public List<InvestHistory> appendTurns(List<InvestHistory> histories) {
+        if (histories.isEmpty()) {
+            return List.of();
+        }
+
+        // 세션별로 묶기 (배치 안의 턴 순서 유지)
+        Map<UUID, List<InvestHistory>> bySession = new LinkedHashMap<>();
+        for (InvestHistory history : histories) {
+            bySession.computeIfAbsent(history.getInvestSessionId(), key -> new ArrayList<>()).add(history);
+        }
+        List<List<InvestHistory>> sessionTurns = new ArrayList<>(bySession.values());
+
+        BulkOperations bulkOps = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, InvestSessionHistory.class);
+        for (List<InvestHistory> turns : sessionTurns) {
+            bulkOps.upsert(Query.query(Criteria.where("_id").is(turns.get(0).getInvestSessionId())), toUpdate(turns));
+        }
+
+        try {
+            bulkOps.execute();
+            return List.of();
+        } catch (BulkOperationException e) {
+            // unordered 모드라 실패한 세션을 제외한 나머지는 이미 저장된 상태
+            // (같은 세션 문서를 동시에 처음 upsert하면 한 쪽이 중복 키로 실패하는데, 재시도하면 update로 들어감)
+            List<InvestHistory> failed = new ArrayList<>();
+            for (BulkWriteError error : e.getErrors()) {
+                failed.addAll(sessionTurns.get(error.getIndex()));
+            }
+            return failed;
+        }
+    }
+
+    private Update toUpdate(List<InvestHistory> turns) {
+        InvestHistory first = turns.get(0);
+        Update update = new Update()
+                .setOnInsert("childId", first.getChildId())
+                .setOnInsert("chapterId", first.getChapterId())
+                .addToSet("turns").each(turns.stream().map(InvestSessionHistory.Turn::from).toArray());
+
+        turns.stream().map(InvestHistory::getStartedAt).filter(Objects::nonNull).min(Comparable::compareTo)
+                .ifPresent(startedAt -> update.min("startedAt", startedAt));
+        turns.stream().map(InvestHistory::getEndedAt).filter(Objects::nonNull).max(Comparable::compareTo)
+                .ifPresent(endedAt -> update.max("lastEndedAt", endedAt));
+        return update;
+    }
+}
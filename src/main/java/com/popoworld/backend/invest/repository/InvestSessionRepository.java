@@ -1,11 +1,64 @@
 package com.popoworld.backend.invest.repository;
 
 import com.popoworld.backend.invest.entity.InvestSession;
+import com.popoworld.backend.invest.entity.InvestSessionAggregate;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.UUID;
 
 @Repository
 public interface InvestSessionRepository extends JpaRepository<InvestSession, UUID> {
+
+    // 게임 종료 처리 - 종료 관련 컬럼만 한 번에 업데이트 (조회 없이 UPDATE 한 번)
+    @Modifying
+    @Query("UPDATE InvestSession s SET s.endedAt = :endedAt, s.success = :success, s.profit = :profit WHERE s.investSessionId = :sessionId")
+    int completeSession(
+            @Param("sessionId") UUID sessionId,
+            @Param("endedAt") LocalDateTime endedAt,
+            @Param("success") Boolean success,
+            @Param("profit") Integer profit
+    );
+
+    // 턴 기록 집계 갱신 - 저장된 집계보다 더 많은 턴을 반영한 경우에만 덮어씀
+    // 컨슈머(배치마다)와 clearChapter가 둘 다 호출해도 행 잠금 + turnCount 조건으로 항상 더 최신 집계가 남음
+    @Transactional
+    @Modifying
+    @Query("UPDATE InvestSession s SET s.turnCount = :turnCount, s.totalIncome = :totalIncome, " +
+            "s.buyCount = :buyCount, s.sellCount = :sellCount, " +
+            "s.plusClickTotal = :plusClickTotal, s.minusClickTotal = :minusClickTotal, s.maxDrawdown = :maxDrawdown " +
+            "WHERE s.investSessionId = :sessionId AND (s.turnCount IS NULL OR s.turnCount < :turnCount)")
+    int updateSummaryIfNewer(
+            @Param("sessionId") UUID sessionId,
+            @Param("turnCount") Integer turnCount,
+            @Param("totalIncome") Long totalIncome,
+            @Param("buyCount") Integer buyCount,
+            @Param("sellCount") Integer sellCount,
+            @Param("plusClickTotal") Integer plusClickTotal,
+            @Param("minusClickTotal") Integer minusClickTotal,
+            @Param("maxDrawdown") Integer maxDrawdown
+    );
+
+    default int updateSummaryIfNewer(InvestSessionAggregate aggregate) {
+        return updateSummaryIfNewer(
+                aggregate.getInvestSessionId(),
+                aggregate.getTurnCount(),
+                aggregate.getTotalIncome(),
+                aggregate.getBuyCount(),
+                aggregate.getSellCount(),
+                aggregate.getPlusClickTotal(),
+                aggregate.getMinusClickTotal(),
+                aggregate.getMaxDrawdown()
+        );
+    }
+
+    // 검색 재색인용 - 끝난 세션만 investSessionId 순서로 after 다음부터 한 페이지씩 (keyset)
+    List<InvestSession> findByEndedAtIsNotNullAndInvestSessionIdGreaterThanOrderByInvestSessionIdAsc(UUID after, Pageable pageable);
 }
@@ -0,0 +1,81 @@
+package com.popoworld.backend.invest.riskProfile;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.popoworld.backend.invest.entity.InvestHistory;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 아이 한 명의 시간 구간(window)별 투자 성향 (Kafka Streams 상태 저장소에 저장되는 값)
+ * - 위험도별 턴 수 / 매수 시 위험도 → 위험 선호도
+ * - 매수/매도 횟수, 거래 수량, +/- 클릭 → 거래 빈도
+ */
+@Getter
+@NoArgsConstructor
+@JsonAutoDetect(fieldVisibility = JsonAutoDetect.Visibility.ANY)
+public class ChildRiskProfile {
+
+    private int turnCount;
+
+    private int buyCount;
+
+    private int sellCount;
+
+    private long sharesTraded; //매수/매도한 수량 합계
+
+    private int plusClickTotal;
+
+    private int minusClickTotal;
+
+    private Map<String, Integer> riskLevelCounts = new HashMap<>(); //위험도별 턴 수
+
+    private Map<String, Integer> buyRiskLevelCounts = new HashMap<>(); //위험도별 매수 횟수
+
+    public ChildRiskProfile add(InvestHistory history) {
+        turnCount++;
+        String riskLevel = history.getRiskLevel();
+        if (riskLevel != null) {
+            riskLevelCounts.merge(riskLevel, 1, Integer::sum);
+        }
+
+        String transactionType = history.getTransactionType();
+        boolean traded = false;
+        if ("BUY".equalsIgnoreCase(transactionType)) {
+            buyCount++;
+            traded = true;
+            if (riskLevel != null) {
+                buyRiskLevelCounts.merge(riskLevel, 1, Integer::sum);
+            }
+        } else if ("SELL".equalsIgnoreCase(transactionType)) {
+            sellCount++;
+            traded = true;
+        }
+        if (traded && history.getNumberOfShares() != null) {
+            sharesTraded += history.getNumberOfShares();
+        }
+
+        if (history.getPlusClick() != null) {
+            plusClickTotal += history.getPlusClick();
+        }
+        if (history.getMinusClick() != null) {
+            minusClickTotal += history.getMinusClick();
+        }
+        return this;
+    }
+
+    // 턴당 거래 횟수
+    public double tradesPerTurn() {
+        return turnCount == 0 ? 0 : (double) (buyCount + sellCount) / turnCount;
+    }
+
+    // 가장 많이 매수한 위험도 (매수가 없으면 null)
+    public String preferredRiskLevel() {
+        return buyRiskLevelCounts.entrySet().stream()
+                .max(Map.Entry.comparingByValue())
+                .map(Map.Entry::getKey)
+                .orElse(null);
+    }
+}
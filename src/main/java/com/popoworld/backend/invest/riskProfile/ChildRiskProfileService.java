@@ -0,0 +1,143 @@
+package com.popoworld.backend.invest.riskProfile;
+
+import com.popoworld.backend.invest.dto.response.ChildRiskProfileResponse;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.apache.kafka.common.serialization.Serdes;
+import org.apache.kafka.streams.KafkaStreams;
+import org.apache.kafka.streams.KeyQueryMetadata;
+import org.apache.kafka.streams.KeyValue;
+import org.apache.kafka.streams.StoreQueryParameters;
+import org.apache.kafka.streams.StreamsConfig;
+import org.apache.kafka.streams.state.HostInfo;
+import org.apache.kafka.streams.state.QueryableStoreTypes;
+import org.apache.kafka.streams.state.ReadOnlyWindowStore;
+import org.apache.kafka.streams.state.WindowStoreIterator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.kafka.config.StreamsBuilderFactoryBean;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * 아이별 투자 성향 조회 (Kafka Streams 로컬 상태 저장소에서 바로 읽음)
+ * 상태는 아이 ID 기준으로 인스턴스마다 나뉘어 있으므로, 이 인스턴스가 담당하지 않는 아이면
+ * 담당 인스턴스(application.server 주소)에 서버끼리 HTTP로 물어봐서 그대로 돌려줌
+ * → 클라이언트는 로드밸런서 주소만 알면 되고, 컨테이너 호스트명은 서버끼리만 사용
+ */
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "invest-risk-profile.enabled", havingValue = "true")
+public class ChildRiskProfileService {
+
+    private final StreamsBuilderFactoryBean streamsBuilderFactoryBean;
+    private final RestClient.Builder restClientBuilder;
+
+    @Value("${invest-risk-profile.window-minutes:60}")
+    private long windowMinutes;
+
+    @Value("${invest-risk-profile.retention-hours:24}")
+    private long retentionHours;
+
+    @Value("${invest-risk-profile.remote-timeout-ms:2000}")
+    private long remoteTimeoutMs;
+
+    private RestClient restClient;
+
+    @PostConstruct
+    public void initRestClient() {
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(Duration.ofMillis(remoteTimeoutMs));
+        requestFactory.setReadTimeout(Duration.ofMillis(remoteTimeoutMs));
+        restClient = restClientBuilder.requestFactory(requestFactory).build();
+    }
+
+    /**
+     * 최근 hours 시간 동안의 window별 투자 성향 (오래된 window부터)
+     * 다른 인스턴스가 담당하는 아이면 그 인스턴스에서 가져옴 (localOnly면 이 인스턴스 저장소만 조회 - 서버끼리 호출용)
+     */
+    public List<ChildRiskProfileResponse> getProfiles(UUID childId, long hours, boolean localOnly) {
+        if (hours < 1 || hours > retentionHours) {
+            throw new IllegalArgumentException("hours는 1 이상 " + retentionHours + " 이하여야 합니다. (요청: " + hours + ")");
+        }
+        Optional<HostInfo> owner = remoteOwner(childId);
+        if (owner.isEmpty()) {
+            return getLocalProfiles(childId, hours);
+        }
+        if (localOnly) {
+            // 재조정 중이라 담당이 바뀐 경우 - 서로 떠넘기지 않도록 여기서 끝냄
+            throw new IllegalStateException("이 인스턴스가 담당하는 아이가 아닙니다.");
+        }
+        return getRemoteProfiles(owner.get(), childId, hours);
+    }
+
+    // 다른 인스턴스가 담당하는 아이면 그 호스트 (이 인스턴스 담당이면 empty)
+    private Optional<HostInfo> remoteOwner(UUID childId) {
+        KafkaStreams streams = runningStreams();
+        KeyQueryMetadata metadata = streams.queryMetadataForKey(
+                ChildRiskProfileTopology.STORE, childId.toString(), Serdes.String().serializer());
+        if (metadata == null || metadata.equals(KeyQueryMetadata.NOT_AVAILABLE)) {
+            throw new IllegalStateException("투자 성향 저장소를 아직 사용할 수 없습니다.");
+        }
+        HostInfo local = localHost();
+        HostInfo owner = metadata.activeHost();
+        return local == null || owner.equals(local) ? Optional.empty() : Optional.of(owner);
+    }
+
+    private List<ChildRiskProfileResponse> getLocalProfiles(UUID childId, long hours) {
+        ReadOnlyWindowStore<String, ChildRiskProfile> store = runningStreams().store(
+                StoreQueryParameters.fromNameAndType(ChildRiskProfileTopology.STORE, QueryableStoreTypes.windowStore()));
+
+        Duration windowSize = Duration.ofMinutes(windowMinutes);
+        Instant to = Instant.now();
+        Instant from = to.minus(Duration.ofHours(hours));
+        List<ChildRiskProfileResponse> profiles = new ArrayList<>();
+        try (WindowStoreIterator<ChildRiskProfile> windows = store.fetch(childId.toString(), from, to)) {
+            while (windows.hasNext()) {
+                KeyValue<Long, ChildRiskProfile> window = windows.next();
+                Instant windowStart = Instant.ofEpochMilli(window.key);
+                profiles.add(ChildRiskProfileResponse.of(windowStart, windowStart.plus(windowSize), window.value));
+            }
+        }
+        return profiles;
+    }
+
+    private List<ChildRiskProfileResponse> getRemoteProfiles(HostInfo owner, UUID childId, long hours) {
+        try {
+            List<ChildRiskProfileResponse> profiles = restClient.get()
+                    .uri("http://{host}:{port}/api/invest/risk-profile/{childId}?hours={hours}&local=true",
+                            owner.host(), owner.port(), childId, hours)
+                    .retrieve()
+                    .body(new ParameterizedTypeReference<List<ChildRiskProfileResponse>>() {});
+            return profiles == null ? List.of() : profiles;
+        } catch (RestClientException e) {
+            throw new IllegalStateException("담당 인스턴스(" + owner + ") 조회 실패: " + e.getMessage(), e);
+        }
+    }
+
+    private KafkaStreams runningStreams() {
+        KafkaStreams streams = streamsBuilderFactoryBean.getKafkaStreams();
+        if (streams == null || streams.state() != KafkaStreams.State.RUNNING) {
+            throw new IllegalStateException("투자 성향 스트림이 아직 실행 중이 아닙니다.");
+        }
+        return streams;
+    }
+
+    private HostInfo localHost() {
+        Object applicationServer = streamsBuilderFactoryBean.getStreamsConfiguration()
+                .get(StreamsConfig.APPLICATION_SERVER_CONFIG);
+        return applicationServer == null || applicationServer.toString().isBlank()
+                ? null
+                : HostInfo.buildFromEndpoint(applicationServer.toString());
+    }
+}
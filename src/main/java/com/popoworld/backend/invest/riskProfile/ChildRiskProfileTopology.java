@@ -0,0 +1,82 @@
+package com.popoworld.backend.invest.riskProfile;
+
+import com.popoworld.backend.invest.entity.InvestHistory;
+import com.popoworld.backend.invest.investHistoryKafka.InvestHistoryDeserializer;
+import com.popoworld.backend.invest.investHistoryKafka.InvestHistoryKafkaConfig;
+import com.popoworld.backend.invest.investHistoryKafka.InvestHistorySerializer;
+import org.apache.kafka.common.serialization.Serde;
+import org.apache.kafka.common.serialization.Serdes;
+import org.apache.kafka.common.utils.Bytes;
+import org.apache.kafka.streams.StreamsBuilder;
+import org.apache.kafka.streams.kstream.Consumed;
+import org.apache.kafka.streams.kstream.Grouped;
+import org.apache.kafka.streams.kstream.KStream;
+import org.apache.kafka.streams.kstream.Materialized;
+import org.apache.kafka.streams.kstream.TimeWindows;
+import org.apache.kafka.streams.state.WindowStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.annotation.EnableKafkaStreams;
+import org.springframework.kafka.support.serializer.JsonSerde;
+
+import java.time.Duration;
+
+/**
+ * invest-history 토픽에서 아이별 투자 성향을 실시간으로 집계하는 Kafka Streams 토폴로지
+ * - 키(세션 ID)를 아이 ID로 바꿔 재파티션 → 아이별 window(window-minutes)로 ChildRiskProfile 누적
+ * - 결과는 로컬 상태 저장소(STORE)에 있고 ChildRiskProfileService가 HTTP로 바로 조회
+ * - MongoDB 저장 컨슈머와는 별개의 consumer group(application-id)이라 서로 영향 없음
+ */
+@Configuration
+@EnableKafkaStreams
+@ConditionalOnProperty(name = "invest-risk-profile.enabled", havingValue = "true")
+public class ChildRiskProfileTopology {
+
+    public static final String STORE = "child-risk-profile";
+
+    @Bean
+    public KStream<String, InvestHistory> childRiskProfileStream(
+            StreamsBuilder streamsBuilder,
+            @Value("${invest-risk-profile.window-minutes:60}") long windowMinutes,
+            @Value("${invest-risk-profile.grace-minutes:5}") long graceMinutes,
+            @Value("${invest-risk-profile.retention-hours:24}") long retentionHours) {
+        return build(streamsBuilder,
+                Duration.ofMinutes(windowMinutes), Duration.ofMinutes(graceMinutes), Duration.ofHours(retentionHours));
+    }
+
+    /**
+     * 토폴로지 구성 (테스트에서도 그대로 사용)
+     * retention은 window + grace 이상이어야 함
+     */
+    public static KStream<String, InvestHistory> build(StreamsBuilder builder, Duration window, Duration grace,
+                                                       Duration retention) {
+        Serde<InvestHistory> historySerde = investHistorySerde();
+
+        KStream<String, InvestHistory> histories = builder.stream(InvestHistoryKafkaConfig.TOPIC,
+                Consumed.with(Serdes.String(), historySerde));
+
+        histories
+                .filter((sessionId, history) -> history != null && history.getChildId() != null)
+                .selectKey((sessionId, history) -> history.getChildId().toString())
+                .groupByKey(Grouped.with(Serdes.String(), historySerde))
+                .windowedBy(TimeWindows.ofSizeAndGrace(window, grace))
+                .aggregate(ChildRiskProfile::new,
+                        (childId, history, profile) -> profile.add(history),
+                        Materialized.<String, ChildRiskProfile, WindowStore<Bytes, byte[]>>as(STORE)
+                                .withKeySerde(Serdes.String())
+                                .withValueSerde(childRiskProfileSerde())
+                                .withRetention(retention));
+        return histories;
+    }
+
+    public static Serde<InvestHistory> investHistorySerde() {
+        return Serdes.serdeFrom(new InvestHistorySerializer(), new InvestHistoryDeserializer());
+    }
+
+    // 상태 저장소/changelog용 - 타입 헤더 없이 고정 타입으로 직렬화
+    public static Serde<ChildRiskProfile> childRiskProfileSerde() {
+        return new JsonSerde<>(ChildRiskProfile.class).noTypeInfo().ignoreTypeHeaders();
+    }
+}
@@ -0,0 +1,345 @@
+package com.popoworld.backend.invest.search;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch._helpers.bulk.BulkIngester;
+import co.elastic.clients.elasticsearch._helpers.bulk.BulkListener;
+import co.elastic.clients.elasticsearch.core.BulkRequest;
+import co.elastic.clients.elasticsearch.core.BulkResponse;
+import co.elastic.clients.elasticsearch.core.bulk.BulkOperation;
+import co.elastic.clients.elasticsearch.core.bulk.BulkResponseItem;
+import com.popoworld.backend.invest.entity.InvestScenario;
+import com.popoworld.backend.invest.entity.InvestSession;
+import com.popoworld.backend.invest.repository.InvestScenarioRepository;
+import com.popoworld.backend.invest.repository.InvestSessionRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 시나리오 / 끝난 게임 세션 요약을 Elasticsearch에 bulk 색인 (invest-search.enabled=true 일 때만 동작)
+ * - BulkIngester가 문서를 모아서 max-operations / max-size-bytes / flush-interval 중 먼저 닿는 시점에 _bulk 요청
+ * - 동시에 보내는 _bulk 요청은 max-concurrent-requests개까지, 넘으면 add()가 기다림 (back-pressure)
+ * - 429/5xx로 실패한 문서만 backoff 후 다시 넣고, max-retries를 넘으면 로그만 남김 (reindex로 복구)
+ * - 서비스/컨슈머에서 오는 색인 요청은 커밋 후 색인 전용 스레드에 넘김 → DB 조회와 add() 대기가 호출 스레드를 막지 않음
+ *   (대기열(queue-capacity)이 차면 버리고 로그, 색인 실패가 저장/게임 처리를 실패시키지 않음)
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class InvestSearchIndexer {
+
+    public static final String SCENARIO_INDEX = "invest-scenario";
+    public static final String SESSION_INDEX = "invest-session-summary";
+
+    private static final UUID FIRST_UUID = new UUID(0L, 0L);
+
+    private final ElasticsearchClient elasticsearchClient;
+    private final InvestScenarioRepository investScenarioRepository;
+    private final InvestSessionRepository investSessionRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${invest-search.enabled:false}")
+    private boolean enabled;
+
+    @Value("${invest-search.bulk.max-operations:500}")
+    private int maxOperations;
+
+    @Value("${invest-search.bulk.max-size-bytes:5242880}")
+    private long maxSizeBytes;
+
+    @Value("${invest-search.bulk.flush-interval-ms:1000}")
+    private long flushIntervalMs;
+
+    @Value("${invest-search.bulk.max-concurrent-requests:2}")
+    private int maxConcurrentRequests;
+
+    @Value("${invest-search.bulk.max-retries:3}")
+    private int maxRetries;
+
+    @Value("${invest-search.bulk.retry-backoff-ms:500}")
+    private long retryBackoffMs;
+
+    @Value("${invest-search.reindex.page-size:500}")
+    private int reindexPageSize;
+
+    @Value("${invest-search.queue-capacity:10000}")
+    private int queueCapacity;
+
+    private BulkIngester<IndexOperation> ingester;
+    private ScheduledExecutorService retryScheduler;
+    private ExecutorService indexExecutor;
+
+    // 색인할 문서 하나 (실패하면 attempt를 올려서 다시 넣음)
+    record IndexOperation(String index, String id, Object document, int attempt) {
+        BulkOperation toBulkOperation() {
+            return BulkOperation.of(op -> op.index(i -> i.index(index).id(id).document(document)));
+        }
+
+        IndexOperation nextAttempt() {
+            return new IndexOperation(index, id, document, attempt + 1);
+        }
+    }
+
+    public record ReindexResult(long scenarios, long sessions) {
+    }
+
+    @PostConstruct
+    public void init() {
+        if (!enabled) {
+            return;
+        }
+        createIndicesIfMissing();
+        retryScheduler = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("invest-search-retry-"));
+        indexExecutor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("invest-search-index-"));
+        ingester = BulkIngester.of(b -> b
+                .client(elasticsearchClient)
+                .maxOperations(maxOperations)
+                .maxSize(maxSizeBytes)
+                .maxConcurrentRequests(maxConcurrentRequests)
+                .flushInterval(flushIntervalMs, TimeUnit.MILLISECONDS)
+                .listener(new RetryingListener()));
+        log.info("🔎 Elasticsearch bulk 색인 시작 - {}건 / {}바이트 / {}ms 단위, 동시 요청 {}개",
+                maxOperations, maxSizeBytes, flushIntervalMs, maxConcurrentRequests);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 시나리오 색인 - 커밋된 행을 다시 읽어서 색인 (챕터는 reindex와 같이 DB에 저장된 연결 기준)
+     */
+    public void indexScenarioAfterCommit(UUID scenarioId) {
+        if (!enabled) {
+            return;
+        }
+        afterCommit(() -> submit(SCENARIO_INDEX, scenarioId, () -> {
+            // investChapter는 LAZY라서 트랜잭션 안에서 문서로 변환
+            IndexOperation operation = transactionTemplate.execute(status ->
+                    investScenarioRepository.findById(scenarioId).map(this::toScenarioOperation).orElse(null));
+            if (operation != null) {
+                add(operation);
+            }
+        }));
+    }
+
+    /**
+     * 끝난 게임 세션 요약 색인 - 커밋된 행을 다시 읽어서 색인 (아직 진행 중인 세션은 건너뜀)
+     * 챕터 종료 때와, 그 뒤에 늦게 도착한 턴으로 집계 컬럼이 바뀔 때마다 호출됨
+     */
+    public void indexSessionAfterCommit(UUID sessionId) {
+        if (!enabled) {
+            return;
+        }
+        afterCommit(() -> submit(SESSION_INDEX, sessionId, () ->
+                investSessionRepository.findById(sessionId)
+                        .filter(session -> session.getEndedAt() != null)
+                        .ifPresent(this::indexSession)));
+    }
+
+    // 트랜잭션 안이면 커밋된 뒤에 실행 (롤백되면 색인하지 않음)
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    // 색인 전용 스레드에 넘김 - 대기열이 차거나 실패해도 로그만 남김 (reindex로 복구)
+    private void submit(String index, UUID id, Runnable task) {
+        try {
+            indexExecutor.execute(() -> {
+                try {
+                    task.run();
+                } catch (Exception e) {
+                    log.error("❌ Elasticsearch 색인 실패 - {}/{}", index, id, e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            log.warn("⚠️ Elasticsearch 색인 대기열이 가득 차서 버림 - {}/{}", index, id);
+        }
+    }
+
+    private IndexOperation toScenarioOperation(InvestScenario scenario) {
+        String chapterId = scenario.getInvestChapter() == null ? null : scenario.getInvestChapter().getChapterId();
+        return new IndexOperation(SCENARIO_INDEX, scenario.getScenarioId().toString(),
+                ScenarioDocument.of(scenario, chapterId), 1);
+    }
+
+    private void indexSession(InvestSession session) {
+        add(new IndexOperation(SESSION_INDEX, session.getInvestSessionId().toString(),
+                SessionSummaryDocument.of(session), 1));
+    }
+
+    /**
+     * Postgres의 시나리오 / 끝난 세션 전체를 다시 색인 (ID 순서 keyset으로 page-size씩 읽음)
+     * 동시 요청 수가 차면 add()에서 기다리므로 읽는 속도가 색인 속도를 넘지 않음
+     */
+    public ReindexResult reindexAll() {
+        if (!enabled) {
+            throw new IllegalStateException("Elasticsearch 색인이 꺼져 있습니다. (invest-search.enabled)");
+        }
+        createIndicesIfMissing();
+
+        long scenarios = 0;
+        // Postgres는 UUID를 부호 없는 바이트 순서로 비교하므로 시작값은 00000000-... (Java의 UUID 비교 순서와 다름)
+        UUID after = FIRST_UUID;
+        while (true) {
+            UUID cursor = after;
+            // investChapter는 LAZY라서 페이지마다 트랜잭션 안에서 문서로 변환
+            List<IndexOperation> page = transactionTemplate.execute(status -> investScenarioRepository
+                    .findByScenarioIdGreaterThanOrderByScenarioIdAsc(cursor, PageRequest.of(0, reindexPageSize))
+                    .stream()
+                    .map(this::toScenarioOperation)
+                    .toList());
+            if (page == null || page.isEmpty()) {
+                break;
+            }
+            page.forEach(this::add);
+            scenarios += page.size();
+            after = UUID.fromString(page.get(page.size() - 1).id());
+        }
+
+        long sessions = 0;
+        after = FIRST_UUID;
+        while (true) {
+            List<InvestSession> page = investSessionRepository
+                    .findByEndedAtIsNotNullAndInvestSessionIdGreaterThanOrderByInvestSessionIdAsc(
+                            after, PageRequest.of(0, reindexPageSize));
+            if (page.isEmpty()) {
+                break;
+            }
+            page.forEach(this::indexSession);
+            sessions += page.size();
+            after = page.get(page.size() - 1).getInvestSessionId();
+        }
+
+        ingester.flush();
+        log.info("✅ Elasticsearch 재색인 요청 완료 - 시나리오 {}건, 세션 {}건", scenarios, sessions);
+        return new ReindexResult(scenarios, sessions);
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        if (indexExecutor != null) {
+            indexExecutor.shutdown(); // 대기열에 남은 색인 요청까지 처리
+            indexExecutor.awaitTermination(5, TimeUnit.SECONDS);
+        }
+        if (ingester != null) {
+            ingester.close(); // 남은 문서 전송 후 종료
+        }
+        if (retryScheduler != null) {
+            retryScheduler.shutdown();
+        }
+    }
+
+    private void add(IndexOperation operation) {
+        ingester.add(operation.toBulkOperation(), operation);
+    }
+
+    private void retry(IndexOperation operation, String reason) {
+        if (operation.attempt() >= maxRetries) {
+            log.error("❌ Elasticsearch 색인 재시도 초과 - {}/{} ({})", operation.index(), operation.id(), reason);
+            return;
+        }
+        // 리스너는 전송 스레드에서 불리므로 add()에서 기다리지 않도록 별도 스레드에서 다시 넣음
+        retryScheduler.schedule(() -> add(operation.nextAttempt()),
+                retryBackoffMs * operation.attempt(), TimeUnit.MILLISECONDS);
+    }
+
+    private static boolean isRetryable(int status) {
+        return status == 429 || status >= 500;
+    }
+
+    private class RetryingListener implements BulkListener<IndexOperation> {
+        @Override
+        public void beforeBulk(long executionId, BulkRequest request, List<IndexOperation> contexts) {
+        }
+
+        @Override
+        public void afterBulk(long executionId, BulkRequest request, List<IndexOperation> contexts, BulkResponse response) {
+            if (!response.errors()) {
+                return;
+            }
+            List<BulkResponseItem> items = response.items();
+            for (int i = 0; i < items.size(); i++) {
+                BulkResponseItem item = items.get(i);
+                if (item.error() == null) {
+                    continue;
+                }
+                if (isRetryable(item.status())) {
+                    retry(contexts.get(i), item.error().reason());
+                } else {
+                    log.error("❌ Elasticsearch 색인 실패 - {}/{}: {}", item.index(), item.id(), item.error().reason());
+                }
+            }
+        }
+
+        @Override
+        public void afterBulk(long executionId, BulkRequest request, List<IndexOperation> contexts, Throwable failure) {
+            log.warn("⚠️ Elasticsearch bulk 요청 실패 - {}건 재시도: {}", contexts.size(), failure.getMessage());
+            contexts.forEach(operation -> retry(operation, failure.getMessage()));
+        }
+    }
+
+    private void createIndicesIfMissing() {
+        try {
+            if (!elasticsearchClient.indices().exists(e -> e.index(SCENARIO_INDEX)).value()) {
+                elasticsearchClient.indices().create(c -> c.index(SCENARIO_INDEX).mappings(m -> m
+                        .properties("scenarioId", p -> p.keyword(k -> k))
+                        .properties("chapterId", p -> p.keyword(k -> k))
+                        .properties("childId", p -> p.keyword(k -> k))
+                        .properties("story", p -> p.text(t -> t))
+                        .properties("isCustom", p -> p.boolean_(b -> b))
+                        .properties("createAt", p -> p.date(d -> d))
+                        .properties("updatedAt", p -> p.date(d -> d))));
+            }
+            if (!elasticsearchClient.indices().exists(e -> e.index(SESSION_INDEX)).value()) {
+                elasticsearchClient.indices().create(c -> c.index(SESSION_INDEX).mappings(m -> m
+                        .properties("sessionId", p -> p.keyword(k -> k))
+                        .properties("childId", p -> p.keyword(k -> k))
+                        .properties("chapterId", p -> p.keyword(k -> k))
+                        .properties("startedAt", p -> p.date(d -> d))
+                        .properties("endedAt", p -> p.date(d -> d))
+                        .properties("success", p -> p.boolean_(b -> b))
+                        .properties("profit", p -> p.integer(n -> n))
+                        .properties("turnCount", p -> p.integer(n -> n))
+                        .properties("totalIncome", p -> p.long_(n -> n))
+                        .properties("buyCount", p -> p.integer(n -> n))
+                        .properties("sellCount", p -> p.integer(n -> n))
+                        .properties("plusClickTotal", p -> p.integer(n -> n))
+                        .properties("minusClickTotal", p -> p.integer(n -> n))
+                        .properties("maxDrawdown", p -> p.integer(n -> n))));
+            }
+        } catch (IOException e) {
+            // 여기서 실패해도 앱은 뜨도록 함 - reindex 호출 시 다시 시도
+            log.error("❌ Elasticsearch 인덱스 생성 실패", e);
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.popoworld.backend.invest.search;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch._types.SortOrder;
+import co.elastic.clients.elasticsearch._types.query_dsl.BoolQuery;
+import co.elastic.clients.elasticsearch.core.SearchResponse;
+import co.elastic.clients.elasticsearch.core.search.Hit;
+import co.elastic.clients.json.JsonData;
+import com.popoworld.backend.invest.dto.response.ScenarioSearchResponse;
+import com.popoworld.backend.invest.dto.response.SessionSearchResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 부모 화면 / ML팀용 검색 (InvestSearchIndexer가 채운 인덱스를 조회)
+ */
+@Service
+@RequiredArgsConstructor
+public class InvestSearchService {
+
+    private final ElasticsearchClient elasticsearchClient;
+    private final InvestSearchIndexer investSearchIndexer;
+
+    @Value("${invest-search.read.max-size:100}")
+    private int maxSize;
+
+    /**
+     * 시나리오 검색 - keyword가 있으면 스토리 본문 전문 검색(점수순), 없으면 필터만
+     */
+    public ScenarioSearchResponse searchScenarios(String keyword, String chapterId, Boolean isCustom, int size) {
+        checkReady(size);
+
+        BoolQuery.Builder bool = new BoolQuery.Builder();
+        if (keyword != null && !keyword.isBlank()) {
+            bool.must(m -> m.match(mt -> mt.field("story").query(keyword)));
+        }
+        if (chapterId != null) {
+            bool.filter(f -> f.term(t -> t.field("chapterId").value(chapterId)));
+        }
+        if (isCustom != null) {
+            bool.filter(f -> f.term(t -> t.field("isCustom").value(isCustom)));
+        }
+        BoolQuery query = bool.build();
+
+        try {
+            SearchResponse<ScenarioDocument> response = elasticsearchClient.search(s -> s
+                            .index(InvestSearchIndexer.SCENARIO_INDEX)
+                            .size(size)
+                            .trackTotalHits(t -> t.enabled(true))
+                            .query(q -> q.bool(query)),
+                    ScenarioDocument.class);
+
+            return new ScenarioSearchResponse(
+                    response.hits().total() == null ? 0 : response.hits().total().value(),
+                    response.hits().hits().stream().map(Hit::source).toList()
+            );
+        } catch (IOException e) {
+            throw new RuntimeException("시나리오 검색 실패: " + e.getMessage());
+        }
+    }
+
+    /**
+     * 끝난 게임 세션 검색 - 최근 종료순, 조건에 맞는 전체 세션의 평균 수익률/성공 횟수도 같이 반환
+     */
+    public SessionSearchResponse searchSessions(UUID childId, String chapterId, Boolean success,
+                                                LocalDateTime from, LocalDateTime to, int size) {
+        checkReady(size);
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new IllegalArgumentException("from은 to보다 늦을 수 없습니다.");
+        }
+
+        BoolQuery.Builder bool = new BoolQuery.Builder();
+        if (childId != null) {
+            bool.filter(f -> f.term(t -> t.field("childId").value(childId.toString())));
+        }
+        if (chapterId != null) {
+            bool.filter(f -> f.term(t -> t.field("chapterId").value(chapterId)));
+        }
+        if (success != null) {
+            bool.filter(f -> f.term(t -> t.field("success").value(success)));
+        }
+        if (from != null || to != null) {
+            bool.filter(f -> f.range(r -> {
+                r.field("endedAt");
+                if (from != null) {
+                    r.gte(JsonData.of(ScenarioDocument.format(from)));
+                }
+                if (to != null) {
+                    r.lt(JsonData.of(ScenarioDocument.format(to)));
+                }
+                return r;
+            }));
+        }
+        BoolQuery query = bool.build();
+
+        try {
+            SearchResponse<SessionSummaryDocument> response = elasticsearchClient.search(s -> s
+                            .index(InvestSearchIndexer.SESSION_INDEX)
+                            .size(size)
+                            .trackTotalHits(t -> t.enabled(true))
+                            .query(q -> q.bool(query))
+                            .sort(so -> so.field(f -> f.field("endedAt").order(SortOrder.Desc)))
+                            .aggregations("avgProfit", a -> a.avg(v -> v.field("profit")))
+                            .aggregations("successCount", a -> a.filter(f -> f.term(t -> t.field("success").value(true)))),
+                    SessionSummaryDocument.class);
+
+            List<SessionSummaryDocument> hits = response.hits().hits().stream().map(Hit::source).toList();
+            return new SessionSearchResponse(
+                    response.hits().total() == null ? 0 : response.hits().total().value(),
+                    response.aggregations().get("avgProfit").avg().value(),
+                    response.aggregations().get("successCount").filter().docCount(),
+                    hits
+            );
+        } catch (IOException e) {
+            throw new RuntimeException("게임 세션 검색 실패: " + e.getMessage());
+        }
+    }
+
+    private void checkReady(int size) {
+        if (!investSearchIndexer.isEnabled()) {
+            throw new IllegalStateException("Elasticsearch 검색이 꺼져 있습니다. (invest-search.enabled)");
+        }
+        if (size < 1 || size > maxSize) {
+            throw new IllegalArgumentException("size는 1 ~ " + maxSize + " 사이여야 합니다.");
+        }
+    }
+}
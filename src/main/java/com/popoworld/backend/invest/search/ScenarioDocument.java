@@ -0,0 +1,34 @@
+package com.popoworld.backend.invest.search;
+
+import com.popoworld.backend.invest.entity.InvestScenario;
+
+import java.time.LocalDateTime;
+
+/**
+ * invest-scenario 인덱스 문서 (시간 값은 ISO 문자열 - ES 클라이언트 매퍼에 JavaTime 모듈이 없어서)
+ */
+public record ScenarioDocument(
+        String scenarioId,
+        String chapterId,
+        String childId,
+        String story,
+        Boolean isCustom,
+        String createAt,
+        String updatedAt
+) {
+    public static ScenarioDocument of(InvestScenario scenario, String chapterId) {
+        return new ScenarioDocument(
+                scenario.getScenarioId().toString(),
+                chapterId,
+                scenario.getChildId() == null ? null : scenario.getChildId().toString(),
+                scenario.getStory(),
+                scenario.getIsCustom(),
+                format(scenario.getCreateAt()),
+                format(scenario.getUpdatedAt())
+        );
+    }
+
+    static String format(LocalDateTime dateTime) {
+        return dateTime == null ? null : dateTime.toString();
+    }
+}
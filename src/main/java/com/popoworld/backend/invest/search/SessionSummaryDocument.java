@@ -0,0 +1,42 @@
+package com.popoworld.backend.invest.search;
+
+import com.popoworld.backend.invest.entity.InvestSession;
+
+/**
+ * invest-session-summary 인덱스 문서 (끝난 게임 세션 하나 = 문서 하나, 턴 기록 집계 포함)
+ */
+public record SessionSummaryDocument(
+        String sessionId,
+        String childId,
+        String chapterId,
+        String startedAt,
+        String endedAt,
+        Boolean success,
+        Integer profit,
+        Integer turnCount,
+        Long totalIncome,
+        Integer buyCount,
+        Integer sellCount,
+        Integer plusClickTotal,
+        Integer minusClickTotal,
+        Integer maxDrawdown
+) {
+    public static SessionSummaryDocument of(InvestSession session) {
+        return new SessionSummaryDocument(
+                session.getInvestSessionId().toString(),
+                session.getChildId() == null ? null : session.getChildId().toString(),
+                session.getChapterId(),
+                ScenarioDocument.format(session.getStartedAt()),
+                ScenarioDocument.format(session.getEndedAt()),
+                session.getSuccess(),
+                session.getProfit(),
+                session.getTurnCount(),
+                session.getTotalIncome(),
+                session.getBuyCount(),
+                session.getSellCount(),
+                session.getPlusClickTotal(),
+                session.getMinusClickTotal(),
+                session.getMaxDrawdown()
+        );
+    }
+}
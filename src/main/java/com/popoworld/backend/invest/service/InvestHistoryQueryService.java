@@ -0,0 +1,172 @@
+package com.popoworld.backend.invest.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.popoworld.backend.invest.dto.response.TurnHistoryResponse;
+import com.popoworld.backend.invest.entity.InvestHistory;
+import com.popoworld.backend.invest.entity.InvestSessionHistory;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * 투자 턴 기록 조회 (NDJSON 스트리밍)
+ * - 필요한 필드만 projection으로 읽고, Mongo 커서에서 읽는 대로 한 줄씩 내보냄 → 기록 전체를 힙에 올리지 않음
+ * - keyset 페이지네이션: 응답 마지막 줄의 cursor를 다음 요청의 after로 넘김
+ * - invest-history.mongo.layout(turn | bucket)에 맞는 컬렉션에서 읽음
+ */
+@Service
+@RequiredArgsConstructor
+public class InvestHistoryQueryService {
+
+    private static final String CURSOR_SEPARATOR = "|";
+
+    // 아이별 조회 keyset (startedAt, _id)
+    private record Cursor(LocalDateTime startedAt, UUID id) {
+    }
+
+    private final MongoTemplate mongoTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Value("${invest-history.mongo.layout:turn}")
+    private String layout;
+
+    @Value("${invest-history.read.max-limit:1000}")
+    private int maxLimit;
+
+    /**
+     * 세션 하나의 턴 기록 (turn 순서, afterTurn 다음 턴부터 limit개)
+     */
+    public StreamingResponseBody streamSessionTurns(UUID sessionId, Integer afterTurn, int limit) {
+        int pageSize = checkLimit(limit);
+
+        if (isBucketLayout()) {
+            // 세션 문서 하나만 읽음 (문서 크기는 세션 하나의 턴 수로 제한됨)
+            Query query = Query.query(Criteria.where("_id").is(sessionId));
+            query.fields().include("turns");
+            return out -> {
+                InvestSessionHistory session = mongoTemplate.findOne(query, InvestSessionHistory.class);
+                if (session == null || session.getTurns() == null) {
+                    return;
+                }
+                session.getTurns().stream()
+                        .filter(turn -> afterTurn == null || (turn.getTurn() != null && turn.getTurn() > afterTurn))
+                        .sorted(Comparator.comparing(InvestSessionHistory.Turn::getTurn,
+                                Comparator.nullsLast(Comparator.naturalOrder())))
+                        .limit(pageSize)
+                        .forEach(turn -> writeLine(out,
+                                TurnHistoryResponse.from(sessionId, turn, String.valueOf(turn.getTurn()))));
+            };
+        }
+
+        // idx_session_turn (investSessionId, turn)
+        Criteria criteria = Criteria.where("investSessionId").is(sessionId);
+        if (afterTurn != null) {
+            criteria = criteria.and("turn").gt(afterTurn);
+        }
+        Query query = Query.query(criteria).with(Sort.by("turn")).limit(pageSize);
+        query.fields().exclude("childId", "chapterId");
+        return out -> {
+            try (Stream<InvestHistory> histories = mongoTemplate.stream(query, InvestHistory.class)) {
+                histories.forEach(history -> writeLine(out,
+                        TurnHistoryResponse.from(history, String.valueOf(history.getTurn()))));
+            }
+        };
+    }
+
+    /**
+     * 아이의 챕터별 턴 기록 (startedAt 순서)
+     * turn 레이아웃: limit은 턴 수 / bucket 레이아웃: limit은 세션 수 (한 세션의 턴은 페이지에 나뉘지 않음)
+     */
+    public StreamingResponseBody streamChildTurns(UUID childId, String chapterId, String after, int limit) {
+        int pageSize = checkLimit(limit);
+
+        // idx_child_chapter_started (childId, chapterId, startedAt, _id)
+        // startedAt이 없는 문서(bucket: 시작 시간이 있는 턴이 아직 없는 세션)는 cursor를 만들 수 없으므로 제외
+        Criteria criteria = Criteria.where("childId").is(childId).and("chapterId").is(chapterId)
+                .and("startedAt").ne(null);
+        if (after != null && !after.isBlank()) {
+            Cursor cursor = parseCursor(after);
+            criteria = criteria.orOperator(
+                    Criteria.where("startedAt").gt(cursor.startedAt()),
+                    Criteria.where("startedAt").is(cursor.startedAt()).and("_id").gt(cursor.id()));
+        }
+        Query query = Query.query(criteria).with(Sort.by("startedAt", "_id")).limit(pageSize);
+
+        if (isBucketLayout()) {
+            query.fields().include("startedAt", "turns");
+            return out -> {
+                try (Stream<InvestSessionHistory> sessions = mongoTemplate.stream(query, InvestSessionHistory.class)) {
+                    sessions.forEach(session -> {
+                        String cursor = toCursor(session.getStartedAt(), session.getInvestSessionId());
+                        List<InvestSessionHistory.Turn> turns = session.getTurns() == null ? List.of() : session.getTurns();
+                        turns.stream()
+                                .sorted(Comparator.comparing(InvestSessionHistory.Turn::getTurn,
+                                        Comparator.nullsLast(Comparator.naturalOrder())))
+                                .forEach(turn -> writeLine(out,
+                                        TurnHistoryResponse.from(session.getInvestSessionId(), turn, cursor)));
+                    });
+                }
+            };
+        }
+
+        query.fields().exclude("childId", "chapterId");
+        return out -> {
+            try (Stream<InvestHistory> histories = mongoTemplate.stream(query, InvestHistory.class)) {
+                histories.forEach(history -> writeLine(out,
+                        TurnHistoryResponse.from(history, toCursor(history.getStartedAt(), history.getId()))));
+            }
+        };
+    }
+
+    private boolean isBucketLayout() {
+        return "bucket".equalsIgnoreCase(layout);
+    }
+
+    private int checkLimit(int limit) {
+        if (limit < 1 || limit > maxLimit) {
+            throw new IllegalArgumentException("limit은 1 이상 " + maxLimit + " 이하여야 합니다. (요청: " + limit + ")");
+        }
+        return limit;
+    }
+
+    private String toCursor(LocalDateTime startedAt, UUID id) {
+        return startedAt + CURSOR_SEPARATOR + id;
+    }
+
+    private Cursor parseCursor(String after) {
+        String[] parts = after.split("\\" + CURSOR_SEPARATOR);
+        if (parts.length != 2) {
+            throw new IllegalArgumentException("잘못된 cursor입니다: " + after);
+        }
+        try {
+            return new Cursor(LocalDateTime.parse(parts[0]), UUID.fromString(parts[1]));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("잘못된 cursor입니다: " + after);
+        }
+    }
+
+    // JSON 한 줄 + 줄바꿈 (클라이언트가 끊으면 IOException → 커서 닫고 종료)
+    private void writeLine(OutputStream out, TurnHistoryResponse response) {
+        try {
+            out.write(objectMapper.writeValueAsBytes(response));
+            out.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
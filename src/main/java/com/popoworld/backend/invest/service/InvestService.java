@@ -1,24 +1,32 @@
 package com.popoworld.backend.invest.service;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.popoworld.backend.invest.cache.ScenarioStoryCache;
 import com.popoworld.backend.invest.dto.request.ClearChapterRequest;
+import com.popoworld.backend.invest.dto.request.TurnBatchRequest;
 import com.popoworld.backend.invest.dto.request.TurnDataRequest;
 import com.popoworld.backend.invest.dto.response.ChapterDataResponse;
 import com.popoworld.backend.invest.dto.response.ClearChapterResponse;
 import com.popoworld.backend.invest.dto.response.TurnDataResponse;
 import com.popoworld.backend.invest.entity.InvestHistory;
 import com.popoworld.backend.invest.entity.InvestScenario;
-import com.popoworld.backend.invest.entity.InvestSession;
+import com.popoworld.backend.invest.investHistoryKafka.InvestHistoryKafkaConfig;
 import com.popoworld.backend.invest.investHistoryKafka.InvestHistoryKafkaProducer;
 import com.popoworld.backend.invest.repository.InvestScenarioRepository;
+import com.popoworld.backend.invest.repository.InvestSessionAggregateRepository;
 import com.popoworld.backend.invest.repository.InvestSessionRepository;
+import com.popoworld.backend.invest.search.InvestSearchIndexer;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 @RequiredArgsConstructor
@@ -27,10 +35,20 @@ public class InvestService {
     private final InvestScenarioRepository investScenarioRepository;
     private final InvestSessionRepository investSessionRepository;
     private final InvestHistoryKafkaProducer investHistoryKafkaProducer;
+    private final ScenarioStoryCache scenarioStoryCache;
+    private final InvestSessionWriter investSessionWriter;
+    private final InvestSessionAggregateRepository investSessionAggregateRepository;
+    private final InvestSearchIndexer investSearchIndexer;
+
+    @Value("${invest-history.turn-batch.max-size:200}")
+    private int maxTurnBatchSize; // invest-history.kafka.producer.max-in-flight 이하로 설정
 
     public ChapterDataResponse getChapterDataAndCreateSession(String chapterId){
-        // 1. 시나리오 조회
-        InvestScenario scenario = investScenarioRepository.findByInvestChapter_ChapterId(chapterId);
+        // 1. 시나리오 조회 (캐시에 없을 때만 DB 조회)
+        ScenarioStoryCache.CachedScenario scenario = scenarioStoryCache.get(chapterId, id -> {
+            InvestScenario found = investScenarioRepository.findByInvestChapter_ChapterId(id);
+            return found == null ? null : new ScenarioStoryCache.CachedScenario(found.getScenarioId(), found.getStory());
+        });
         if(scenario==null){
             throw new RuntimeException("해당 챕터 시나리오를 찾을 수 없습니다.");
         }
@@ -39,69 +57,125 @@ public class InvestService {
         UUID childId = UUID.fromString("c1111111-2222-3333-4444-555555555555"); // 임시 childId
         LocalDateTime now = LocalDateTime.now(ZoneId.of("Asia/Seoul"));
 
-        InvestSession newSession = new InvestSession(
-                sessionId,        // 새로 생성한 세션 ID
-                childId,          // 임시 childId
-                chapterId,        // URL에서 받은 chapterId
-                now,              // startedAt - 현재 시간
-                null,             // endedAt - 아직 게임이 안 끝남
-                null,             // success - 아직 모름
-                null,             // profit - 아직 모름
-                scenario          // 조회한 scenario 객체
-        );
-
-        // 3. 세션 저장
-        investSessionRepository.save(newSession);
+        // 3. 세션 저장 (write-behind 모드면 큐에 넣고 바로 반환)
+        investSessionWriter.create(new InvestSessionWriter.NewSession(
+                sessionId,              // 새로 생성한 세션 ID
+                childId,                // 임시 childId
+                chapterId,              // URL에서 받은 chapterId
+                now,                    // startedAt - 현재 시간
+                scenario.scenarioId()   // 조회한 scenario ID
+        ));
 
         // 4. 응답 DTO 반환
-        return new ChapterDataResponse(sessionId.toString(), scenario.getStory());
+        return new ChapterDataResponse(sessionId.toString(), scenario.story());
     }
 
+    @Transactional
     public ClearChapterResponse clearChapter(String chapterId, ClearChapterRequest request){
         // 1. sessionId 변환
         UUID sessionId = UUID.fromString(request.getSessionId());
 
-        // 2. 기존 세션 찾기
-        InvestSession existingSession = investSessionRepository.findById(sessionId).orElse(null);
+        // 2. 아직 저장 대기 중인 세션이면 먼저 저장
+        investSessionWriter.flushIfPending(sessionId);
 
-        if (existingSession == null) {
-            throw new RuntimeException("해당 게임 세션을 찾을 수 없습니다.");
-        }
-
-        // 3. 기존 세션 업데이트
+        // 3. 종료 시간, 성공 여부, 수익률만 UPDATE (나머지 컬럼은 건드리지 않음)
         LocalDateTime endedAt = LocalDateTime.now(ZoneId.of("Asia/Seoul"));
 
-        InvestSession updatedSession = new InvestSession(
-                existingSession.getInvestSessionId(),  // 기존 세션 ID 유지
-                existingSession.getChildId(),          // 기존 childId 유지
-                existingSession.getChapterId(),        // 기존 chapterId 유지
-                existingSession.getStartedAt(),        // 기존 시작 시간 유지
-                endedAt,                               // 종료 시간은 현재 시간
-                request.getSuccess(),                  // 프론트에서 받은 성공 여부
-                request.getProfit(),                   // 프론트에서 받은 수익률
-                existingSession.getInvestScenario()    // 기존 scenario 유지
+        int updated = investSessionRepository.completeSession(
+                sessionId,
+                endedAt,               // 종료 시간은 현재 시간
+                request.getSuccess(),  // 프론트에서 받은 성공 여부
+                request.getProfit()    // 프론트에서 받은 수익률
         );
 
-        // 4. 업데이트된 세션 저장
-        investSessionRepository.save(updatedSession);
+        if (updated == 0) {
+            throw new RuntimeException("해당 게임 세션을 찾을 수 없습니다.");
+        }
+
+        // 4. 턴 기록 집계는 컨슈머가 배치마다 세션 행에 반영함 (아직 카프카에 있는 마지막 턴도 나중에 반영됨)
+        //    세션 행이 write-behind로 늦게 저장돼서 컨슈머의 갱신이 빠졌을 수 있으므로 한 번 더 복사 (더 최신일 때만 덮어씀)
+        investSessionAggregateRepository.findById(sessionId)
+                .ifPresent(investSessionRepository::updateSummaryIfNewer);
 
-        // 5. 응답 DTO 반환
+        // 5. 세션 요약 검색 색인 (커밋된 뒤 bulk 큐에 넣기만 함)
+        investSearchIndexer.indexSessionAfterCommit(sessionId);
+
+        // 6. 응답 DTO 반환
         return new ClearChapterResponse("✅ 게임 세션이 성공적으로 업데이트되었습니다.");
 
     }
-    public TurnDataResponse updateGameData(String chapterId, Integer turn, TurnDataRequest request) {
+    public CompletableFuture<TurnDataResponse> updateGameData(String chapterId, Integer turn, TurnDataRequest request) {
         // 1. sessionId 변환
         UUID investSessionId = UUID.fromString(request.getSessionId());
 
         // 2. 임시 childId (나중에 JWT에서 가져올 예정)
         UUID childId = UUID.fromString("c1111111-2222-3333-4444-555555555555");
 
-        // 3. 시간 파싱
+        // 3. InvestHistory 객체 생성
+        InvestHistory history = toInvestHistory(investSessionId, chapterId, childId, turn, request);
+
+        // 4. 카프카로 전송 (브로커 ack 시점에 완료)
+        return investHistoryKafkaProducer.sendInvestHistory(InvestHistoryKafkaConfig.TOPIC, history)
+                .thenApply(result -> new TurnDataResponse("✅ 투자 데이터가 카프카로 전송되었습니다."));
+    }
+
+    /**
+     * 한 세션의 여러 턴을 한 번에 전송 (오프라인 플레이 재전송용)
+     * sessionId/chapterId는 한 번만 검증하고 모든 턴을 investSessionId 키로 묶어서 전송
+     */
+    public CompletableFuture<TurnDataResponse> updateGameDataBatch(TurnBatchRequest request) {
+        // 1. 배치 검증
+        List<TurnDataRequest> turns = request.getTurns();
+        if (turns == null || turns.isEmpty()) {
+            throw new IllegalArgumentException("전송할 턴 데이터가 없습니다.");
+        }
+        if (turns.size() > maxTurnBatchSize) {
+            throw new IllegalArgumentException("한 번에 전송할 수 있는 턴은 최대 " + maxTurnBatchSize + "개입니다.");
+        }
+        if (request.getSessionId() == null || request.getSessionId().isBlank()) {
+            throw new IllegalArgumentException("sessionId가 없습니다.");
+        }
+        if (request.getChapterId() == null) {
+            throw new IllegalArgumentException("chapterId가 없습니다.");
+        }
+
+        // 2. sessionId 변환 및 임시 childId (배치당 한 번)
+        UUID investSessionId;
+        try {
+            investSessionId = UUID.fromString(request.getSessionId());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("sessionId 형식이 올바르지 않습니다: " + request.getSessionId());
+        }
+        UUID childId = UUID.fromString("c1111111-2222-3333-4444-555555555555");
+
+        // 3. InvestHistory 목록 생성
+        List<InvestHistory> histories = new ArrayList<>(turns.size());
+        for (TurnDataRequest turn : turns) {
+            if (turn == null || turn.getTurn() == null) {
+                throw new IllegalArgumentException("턴 번호가 없는 데이터가 있습니다.");
+            }
+            if (turn.getSessionId() != null && !turn.getSessionId().equals(request.getSessionId())) {
+                throw new IllegalArgumentException(turn.getTurn() + "턴의 sessionId가 배치의 sessionId와 다릅니다.");
+            }
+            try {
+                histories.add(toInvestHistory(investSessionId, request.getChapterId(), childId, turn.getTurn(), turn));
+            } catch (DateTimeParseException | NullPointerException e) {
+                throw new IllegalArgumentException(turn.getTurn() + "턴의 시간 형식이 올바르지 않습니다.");
+            }
+        }
+
+        // 4. 세션 키로 한 번에 전송
+        return investHistoryKafkaProducer.sendInvestHistoryBatch(InvestHistoryKafkaConfig.TOPIC, investSessionId.toString(), histories)
+                .thenApply(result -> new TurnDataResponse("✅ 투자 데이터 " + histories.size() + "건이 카프카로 전송되었습니다."));
+    }
+
+    private InvestHistory toInvestHistory(UUID investSessionId, String chapterId, UUID childId,
+                                          Integer turn, TurnDataRequest request) {
+        // 시간 파싱
         LocalDateTime startedAt = LocalDateTime.parse(request.getStartedAt());
         LocalDateTime endedAt = LocalDateTime.parse(request.getEndedAt());
 
-        // 4. InvestHistory 객체 생성
-        InvestHistory history = new InvestHistory(
+        return new InvestHistory(
                 UUID.randomUUID(),
                 investSessionId,
                 chapterId,
@@ -120,20 +194,5 @@ public class InvestService {
                 startedAt,
                 endedAt
         );
-
-        // 5. 카프카로 전송
-        try {
-            ObjectMapper mapper = new ObjectMapper();
-            mapper.registerModule(new JavaTimeModule());
-            String json = mapper.writeValueAsString(history);
-
-            investHistoryKafkaProducer.sendInvestHistory("invest-history", json);
-
-            return new TurnDataResponse("✅ 투자 데이터가 카프카로 전송되었습니다.");
-        } catch (Exception e) {
-            throw new RuntimeException("카프카 전송 실패: " + e.getMessage());
-        }
     }
 }
-
-
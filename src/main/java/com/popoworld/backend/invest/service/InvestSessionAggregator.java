@@ -0,0 +1,78 @@
+package com.popoworld.backend.invest.service;
+
+import com.popoworld.backend.invest.entity.InvestHistory;
+import com.popoworld.backend.invest.entity.InvestSessionAggregate;
+import com.popoworld.backend.invest.repository.InvestSessionAggregateRepository;
+import com.popoworld.backend.invest.repository.InvestSessionRepository;
+import com.popoworld.backend.invest.search.InvestSearchIndexer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 컨슈머 배치마다 세션별 집계를 이어서 계산하고 저장
+ * - 같은 세션은 같은 파티션 → 한 컨슈머 스레드에서만 처리되므로, 읽고 계산하고 쓰는 사이에 다른 쓰기가 끼지 않음
+ * - 최고점 대비 하락폭은 턴 번호 순서로 다시 계산하므로 턴이 늦게/순서 없이 와도 같은 결과
+ * - 이미 반영한 턴 번호는 건너뛰므로 배치가 다시 전달돼도 두 번 더해지지 않음
+ * - 집계는 세션 행(InvestSession)에도 바로 반영 → 챕터를 끝낸 뒤에 도착한 마지막 턴도 세션 요약에 들어감
+ *   (세션 행이 바뀌면 검색 색인도 다시 요청 - 끝난 세션만 색인됨)
+ */
+@Component
+@RequiredArgsConstructor
+public class InvestSessionAggregator {
+
+    private final InvestSessionAggregateRepository aggregateRepository;
+    private final InvestSessionRepository investSessionRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final InvestSearchIndexer investSearchIndexer;
+
+    public void aggregate(List<InvestHistory> histories) {
+        if (histories.isEmpty()) {
+            return;
+        }
+
+        Map<UUID, List<InvestHistory>> bySession = new LinkedHashMap<>();
+        for (InvestHistory history : histories) {
+            bySession.computeIfAbsent(history.getInvestSessionId(), key -> new ArrayList<>()).add(history);
+        }
+
+        // 세션 집계를 한 번에 읽어서 이어서 계산
+        Map<UUID, InvestSessionAggregate> stored = aggregateRepository.findAllById(bySession.keySet()).stream()
+                .collect(Collectors.toMap(InvestSessionAggregate::getInvestSessionId, Function.identity()));
+
+        List<InvestSessionAggregate> touched = new ArrayList<>(bySession.size());
+        List<InvestSessionAggregate> changed = new ArrayList<>(bySession.size());
+        bySession.forEach((sessionId, turns) -> {
+            InvestSessionAggregate aggregate = stored.containsKey(sessionId)
+                    ? stored.get(sessionId)
+                    : InvestSessionAggregate.start(turns.get(0));
+            boolean applied = false;
+            for (InvestHistory turn : turns) {
+                applied |= aggregate.fold(turn);
+            }
+            touched.add(aggregate);
+            if (applied) {
+                changed.add(aggregate);
+            }
+        });
+
+        aggregateRepository.saveAllIfNewer(changed);
+
+        // 세션 행 집계 컬럼 갱신 (더 최신일 때만 덮어씀)
+        // 재전송된 배치는 Mongo에는 이미 반영돼 있어도 세션 행 갱신 전에 실패했을 수 있으므로 반영 여부와 관계없이 갱신
+        // 세션 행이 아직 없으면(write-behind) 0건 → clearChapter에서 한 번 더 복사
+        transactionTemplate.executeWithoutResult(status -> touched.forEach(aggregate -> {
+            if (investSessionRepository.updateSummaryIfNewer(aggregate) > 0) {
+                investSearchIndexer.indexSessionAfterCommit(aggregate.getInvestSessionId());
+            }
+        }));
+    }
+}
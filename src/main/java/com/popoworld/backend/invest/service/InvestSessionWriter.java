@@ -0,0 +1,361 @@
+package com.popoworld.backend.invest.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * 게임 세션 생성(INSERT) 담당
+ * - write-behind 모드: 로컬 로그 파일(WAL)에 한 줄 쓰고 큐에 넣은 뒤 바로 반환, 스케줄러가 모아서 JDBC batch insert
+ * - 모드가 꺼져 있거나, 큐가 가득 찼거나, 직전 flush가 DB 장애로 실패했으면 그 자리에서 바로 insert (동기 저장으로 대체)
+ * - 저장 실패한 세션은 flush가 끝난 뒤 다음 flush로 넘김 (max-attempts번까지), 제약조건 위반처럼 다시 해도 안 되는 건 버림
+ * - 서버가 비정상 종료되면 다음 시작 시 WAL에 남은 세션을 다시 저장 (ON CONFLICT DO NOTHING이라 중복 저장돼도 무방)
+ * 아직 저장되지 않은 세션은 flushIfPending()으로 즉시 저장할 수 있다. (clearChapter 전에 호출)
+ */
+@Component
+@Slf4j
+public class InvestSessionWriter {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO invest_session (invest_session_id, child_id, chapter_id, started_at, scenario_id) " +
+            "VALUES (?, ?, ?, ?, ?) ON CONFLICT (invest_session_id) DO NOTHING";
+
+    private static final String WAL_PREFIX = "sessions-";
+    private static final String WAL_SUFFIX = ".wal";
+
+    public record NewSession(UUID sessionId, UUID childId, String chapterId, LocalDateTime startedAt, UUID scenarioId) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final boolean writeBehind;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Path walDir; // null이면 WAL 없음 (비정상 종료 시 저장 전 세션이 사라질 수 있음)
+    private final boolean walFsync;
+    private final BlockingQueue<NewSession> queue;
+    private final Map<UUID, NewSession> pending = new ConcurrentHashMap<>(); // 큐에 있거나 저장 중인 세션
+    private final Map<UUID, Integer> attempts = new ConcurrentHashMap<>();   // 저장 실패 횟수
+
+    private List<NewSession> retries = new ArrayList<>(); // 다음 flush에서 다시 저장할 세션 (flush 스레드만 사용)
+    private volatile boolean healthy = true;              // 직전 flush가 DB 장애로 실패했으면 false
+
+    private final Object walLock = new Object();
+    private FileChannel wal;
+    private Path walPath;
+    private long walBytes;
+    private long walSequence;
+
+    public InvestSessionWriter(JdbcTemplate jdbcTemplate,
+                               ObjectMapper objectMapper,
+                               @Value("${invest.session.write-behind.enabled:false}") boolean writeBehind,
+                               @Value("${invest.session.write-behind.queue-capacity:10000}") int queueCapacity,
+                               @Value("${invest.session.write-behind.batch-size:500}") int batchSize,
+                               @Value("${invest.session.write-behind.max-attempts:300}") int maxAttempts,
+                               @Value("${invest.session.write-behind.wal-dir:}") String walDir,
+                               @Value("${invest.session.write-behind.wal-fsync:false}") boolean walFsync) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.writeBehind = writeBehind;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.walDir = walDir.isBlank() ? null : Path.of(walDir);
+        this.walFsync = walFsync;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    }
+
+    /**
+     * 이전 실행에서 저장하지 못하고 WAL에 남은 세션을 다음 flush에서 저장하도록 올려둠
+     */
+    @PostConstruct
+    public synchronized void recover() throws IOException {
+        if (!writeBehind) {
+            return;
+        }
+        if (walDir == null) {
+            log.warn("⚠️ 세션 write-behind WAL 꺼짐 (invest.session.write-behind.wal-dir) - 서버가 비정상 종료되면 저장 전 세션이 사라질 수 있음");
+            return;
+        }
+        Files.createDirectories(walDir);
+        List<Path> segments = listSegments();
+        openSegment();
+
+        int recovered = 0;
+        for (Path segment : segments) {
+            for (String line : Files.readAllLines(segment, StandardCharsets.UTF_8)) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                NewSession session;
+                try {
+                    session = objectMapper.readValue(line, NewSession.class);
+                } catch (IOException e) {
+                    // 비정상 종료로 마지막 줄이 잘린 경우
+                    log.warn("⚠️ 세션 WAL 손상된 줄 건너뜀 - {}", segment.getFileName());
+                    continue;
+                }
+                if (pending.putIfAbsent(session.sessionId(), session) == null) {
+                    append(session);
+                    retries.add(session);
+                    recovered++;
+                }
+            }
+            Files.delete(segment);
+        }
+        if (recovered > 0) {
+            log.info("🔁 세션 WAL 복구 - {}건 다시 저장 예정", recovered);
+        }
+    }
+
+    public void create(NewSession session) {
+        if (writeBehind && healthy) {
+            pending.put(session.sessionId(), session);
+            if (appendQuietly(session) && queue.offer(session)) {
+                return;
+            }
+            log.warn("⚠️ 세션 write-behind 큐가 가득 참 - 동기 저장으로 대체");
+        }
+        try {
+            insert(List.of(session));
+            healthy = true;
+        } finally {
+            pending.remove(session.sessionId());
+        }
+    }
+
+    /**
+     * 아직 DB에 없는 세션이면 즉시 저장
+     * 호출한 트랜잭션과 별도로 바로 커밋 → 컨슈머의 턴 기록 집계 갱신이 이 세션 행을 바로 볼 수 있음
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void flushIfPending(UUID sessionId) {
+        NewSession session = pending.get(sessionId);
+        if (session != null) {
+            insert(List.of(session));
+            pending.remove(sessionId);
+            attempts.remove(sessionId);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${invest.session.write-behind.flush-interval-ms:200}")
+    public synchronized void flush() {
+        Path sealed = rotateSegment();
+
+        List<NewSession> failed = new ArrayList<>();
+        List<NewSession> skipped = new ArrayList<>();
+        boolean available = true;
+
+        // 1. 지난 flush에서 실패한 세션 먼저
+        List<NewSession> previous = retries;
+        retries = new ArrayList<>();
+        for (int from = 0; from < previous.size(); from += batchSize) {
+            List<NewSession> batch = previous.subList(from, Math.min(from + batchSize, previous.size()));
+            if (available) {
+                available = store(batch, failed, skipped);
+            } else {
+                skipped.addAll(batch);
+            }
+        }
+
+        // 2. 새로 들어온 세션 (DB 장애가 나면 남은 건 큐에 그대로 두고 다음 flush로)
+        List<NewSession> batch = new ArrayList<>(batchSize);
+        while (available && queue.drainTo(batch, batchSize) > 0) {
+            available = store(batch, failed, skipped);
+            batch.clear();
+        }
+
+        // 3. 실패한 세션은 루프가 끝난 뒤에만 다음 flush로 넘김 (같은 flush에서 다시 꺼내서 무한 반복하지 않도록)
+        for (NewSession session : failed) {
+            int count = attempts.merge(session.sessionId(), 1, Integer::sum);
+            if (count >= maxAttempts) {
+                log.error("❌ 세션 저장 재시도 초과 - 버림 {}", session);
+                forget(session);
+            } else {
+                retries.add(session);
+            }
+        }
+        retries.addAll(skipped);
+        healthy = available;
+
+        if (sealed != null) {
+            sealSegment(sealed);
+        }
+    }
+
+    @PreDestroy
+    public synchronized void shutdown() throws IOException {
+        flush();
+        synchronized (walLock) {
+            if (wal == null) {
+                return;
+            }
+            wal.close();
+            // 못 저장한 세션이 남아 있으면 다음 시작 때 복구하도록 파일을 남겨둠
+            if (pending.isEmpty()) {
+                Files.deleteIfExists(walPath);
+            }
+            wal = null;
+        }
+    }
+
+    /**
+     * @return false면 DB 장애로 판단 (이번 flush는 더 시도하지 않음)
+     */
+    private boolean store(List<NewSession> batch, List<NewSession> failed, List<NewSession> skipped) {
+        try {
+            insert(batch);
+            batch.forEach(this::forget);
+            return true;
+        } catch (DataIntegrityViolationException e) {
+            // 저장할 수 없는 행(FK 위반 등)이 섞여 있음 - 한 건씩 저장해서 그 행만 버림
+            log.warn("⚠️ 세션 batch insert 제약조건 위반 - {}건 개별 저장 시도", batch.size());
+            for (int i = 0; i < batch.size(); i++) {
+                NewSession session = batch.get(i);
+                try {
+                    insert(List.of(session));
+                    forget(session);
+                } catch (DataIntegrityViolationException ex) {
+                    log.error("❌ 세션 저장 불가 - 버림 {}", session, ex);
+                    forget(session);
+                } catch (RuntimeException ex) {
+                    log.error("❌ 세션 insert 실패 - 다음 flush에서 재시도", ex);
+                    failed.add(session);
+                    skipped.addAll(batch.subList(i + 1, batch.size()));
+                    return false;
+                }
+            }
+            return true;
+        } catch (RuntimeException e) {
+            log.error("❌ 세션 batch insert 실패 - {}건 다음 flush에서 재시도", batch.size(), e);
+            failed.addAll(batch);
+            return false;
+        }
+    }
+
+    // 저장했거나 버린 세션 정리 (WAL에서는 다음 세그먼트 교체 때 빠짐)
+    private void forget(NewSession session) {
+        pending.remove(session.sessionId());
+        attempts.remove(session.sessionId());
+    }
+
+    private void insert(List<NewSession> sessions) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, sessions, sessions.size(), (ps, session) -> {
+            ps.setObject(1, session.sessionId());
+            ps.setObject(2, session.childId());
+            ps.setString(3, session.chapterId());
+            ps.setObject(4, session.startedAt());
+            if (session.scenarioId() == null) {
+                ps.setNull(5, Types.OTHER);
+            } else {
+                ps.setObject(5, session.scenarioId());
+            }
+        });
+    }
+
+    // ===== WAL =====
+    // create()는 현재 세그먼트에 한 줄씩 추가, flush()는 시작할 때 세그먼트를 새로 열고
+    // 끝난 뒤 아직 저장 안 된 세션(pending)만 새 세그먼트에 다시 쓴 다음 이전 세그먼트를 지움
+
+    private boolean appendQuietly(NewSession session) {
+        try {
+            append(session);
+            return true;
+        } catch (IOException | UncheckedIOException e) {
+            log.error("❌ 세션 WAL 기록 실패 - 동기 저장으로 대체", e);
+            return false;
+        }
+    }
+
+    private void append(NewSession session) throws IOException {
+        if (walDir == null) {
+            return;
+        }
+        ByteBuffer line = ByteBuffer.wrap((objectMapper.writeValueAsString(session) + "\n").getBytes(StandardCharsets.UTF_8));
+        synchronized (walLock) {
+            if (wal == null) {
+                throw new IOException("세션 WAL이 열려 있지 않습니다.");
+            }
+            while (line.hasRemaining()) {
+                walBytes += wal.write(line);
+            }
+            if (walFsync) {
+                wal.force(false);
+            }
+        }
+    }
+
+    // 현재 세그먼트에 쓴 게 있으면 닫고 새 세그먼트를 열어서 닫은 세그먼트 경로를 반환
+    private Path rotateSegment() {
+        synchronized (walLock) {
+            if (wal == null || walBytes == 0) {
+                return null;
+            }
+            Path sealed = walPath;
+            try {
+                wal.close();
+                openSegment();
+            } catch (IOException e) {
+                throw new UncheckedIOException("세션 WAL 교체 실패", e);
+            }
+            return sealed;
+        }
+    }
+
+    private void sealSegment(Path sealed) {
+        try {
+            for (NewSession session : pending.values()) {
+                append(session);
+            }
+            Files.deleteIfExists(sealed);
+        } catch (IOException e) {
+            // 지우지 못한 세그먼트는 다음 시작 때 다시 저장됨 (중복 저장 무방)
+            log.error("❌ 세션 WAL 정리 실패 - {}", sealed, e);
+        }
+    }
+
+    private void openSegment() throws IOException {
+        synchronized (walLock) {
+            walPath = walDir.resolve(WAL_PREFIX + System.currentTimeMillis() + "-" + (walSequence++) + WAL_SUFFIX);
+            wal = FileChannel.open(walPath, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+            walBytes = 0;
+        }
+    }
+
+    private List<Path> listSegments() throws IOException {
+        try (Stream<Path> files = Files.list(walDir)) {
+            return files.filter(path -> {
+                        String name = path.getFileName().toString();
+                        return name.startsWith(WAL_PREFIX) && name.endsWith(WAL_SUFFIX);
+                    })
+                    .sorted()
+                    .toList();
+        }
+    }
+}
@@ -1,9 +1,13 @@
 package com.popoworld.backend.invest.service;
 
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.popoworld.backend.invest.cache.ScenarioStoryCache;
 import com.popoworld.backend.invest.dto.request.CustomScenarioRequest;
 import com.popoworld.backend.invest.dto.request.DefaultScenarioRequest;
+import com.popoworld.backend.invest.dto.response.ScenarioCacheStatsResponse;
 import com.popoworld.backend.invest.entity.InvestScenario;
 import com.popoworld.backend.invest.repository.InvestScenarioRepository;
+import com.popoworld.backend.invest.search.InvestSearchIndexer;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
@@ -17,6 +21,8 @@ import java.util.UUID;
 public class ScenarioService {
 
     private final InvestScenarioRepository investScenarioRepository;
+    private final ScenarioStoryCache scenarioStoryCache;
+    private final InvestSearchIndexer investSearchIndexer;
 
     /**
      * ML에서 생성된 기본 시나리오 저장
@@ -41,6 +47,8 @@ public class ScenarioService {
             );
 
             investScenarioRepository.save(scenario);
+            scenarioStoryCache.evict(request.getChapterId());
+            investSearchIndexer.indexScenarioAfterCommit(scenarioId);
 
             return "✅ 시나리오가 성공적으로 저장되었습니다. ID: " + scenarioId;
 
@@ -77,6 +85,8 @@ public class ScenarioService {
             );
 
             investScenarioRepository.save(updatedScenario);
+            scenarioStoryCache.evict(request.getChapterId());
+            investSearchIndexer.indexScenarioAfterCommit(updatedScenario.getScenarioId());
 
             return "✅ 챕터 " + request.getChapterId() + "의 가장 오래된 시나리오가 업데이트되었습니다. ID: " + oldestScenario.getScenarioId();
 
@@ -84,4 +94,20 @@ public class ScenarioService {
             throw new RuntimeException("시나리오 업데이트 실패: " + e.getMessage());
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * 챕터 시나리오 캐시 통계
+     */
+    public ScenarioCacheStatsResponse getCacheStats() {
+        CacheStats stats = scenarioStoryCache.stats();
+        return new ScenarioCacheStatsResponse(
+                scenarioStoryCache.size(),
+                stats.hitCount(),
+                stats.missCount(),
+                stats.hitRate(),
+                stats.evictionCount(),
+                stats.evictionWeight(),
+                scenarioStoryCache.invalidationCount()
+        );
+    }
+}
@@ -0,0 +1,108 @@
+package com.popoworld.backend.quest.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.popoworld.backend.quest.dto.QuestResponse;
+import com.popoworld.backend.quest.entity.Quest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.DigestUtils;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * GET /api/quest 응답 캐시 - (아이, 타입)별로 JSON 직렬화까지 끝난 바이트와 ETag 보관
+ * - 퀘스트 상태 변경 / 부모퀘스트 생성 / 일일 유지보수에서 커밋 후 해당 항목 제거
+ * - 다른 서버에서 일어난 변경은 알 수 없으므로 ttl-seconds 후에는 다시 조회
+ */
+@Component
+public class QuestResponseCache {
+
+    public record CachedQuestList(byte[] body, String etag) {
+    }
+
+    private record Key(UUID childId, Quest.QuestType type, LocalDate day) {
+    }
+
+    private static final ZoneId KST = ZoneId.of("Asia/Seoul");
+
+    private final Cache<Key, CachedQuestList> cache;
+    private final ObjectMapper objectMapper;
+
+    public QuestResponseCache(ObjectMapper objectMapper,
+                              @Value("${quest.response-cache.max-size:100000}") long maxSize,
+                              @Value("${quest.response-cache.ttl-seconds:60}") long ttlSeconds) {
+        this.objectMapper = objectMapper;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+    }
+
+    /**
+     * 캐시에 없으면 loader로 조회 후 직렬화해서 저장
+     * (날짜도 키에 포함 → 자정이 지나면 lazy 모드 일일퀘스트도 새로 만들어짐)
+     */
+    public CachedQuestList get(UUID childId, Quest.QuestType type, Supplier<List<QuestResponse>> loader) {
+        return cache.get(new Key(childId, type, LocalDate.now(KST)), key -> serialize(loader.get()));
+    }
+
+    public void evictAfterCommit(UUID childId, Quest.QuestType type) {
+        afterCommit(() -> cache.invalidateAll(keys(List.of(childId), type)));
+    }
+
+    public void evictAfterCommit(Collection<UUID> childIds, Quest.QuestType type) {
+        afterCommit(() -> cache.invalidateAll(keys(childIds, type)));
+    }
+
+    // 전체 스캔 - 일일 유지보수에서만 호출
+    public void evictAllAfterCommit(Quest.QuestType type) {
+        afterCommit(() -> cache.asMap().keySet().removeIf(key -> key.type() == type));
+    }
+
+    // 해당 아이의 오늘 키 (자정 직전에 캐시된 항목이 남지 않도록 어제 키도 같이)
+    private Set<Key> keys(Collection<UUID> childIds, Quest.QuestType type) {
+        LocalDate today = LocalDate.now(KST);
+        Set<Key> keys = new HashSet<>(childIds.size() * 2);
+        for (UUID childId : childIds) {
+            keys.add(new Key(childId, type, today));
+            keys.add(new Key(childId, type, today.minusDays(1)));
+        }
+        return keys;
+    }
+
+    // 트랜잭션 안이면 커밋된 뒤에 제거 (커밋 전에 지우면 다른 요청이 옛 데이터를 다시 캐시할 수 있음)
+    private void afterCommit(Runnable eviction) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    eviction.run();
+                }
+            });
+        } else {
+            eviction.run();
+        }
+    }
+
+    private CachedQuestList serialize(List<QuestResponse> quests) {
+        try {
+            byte[] body = objectMapper.writeValueAsBytes(quests);
+            return new CachedQuestList(body, "\"" + DigestUtils.md5DigestAsHex(body) + "\"");
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("퀘스트 목록 직렬화 실패", e);
+        }
+    }
+}
@@ -1,17 +1,27 @@
 package com.popoworld.backend.quest.controller;
 
+import com.popoworld.backend.quest.cache.QuestResponseCache;
+import com.popoworld.backend.quest.dto.BulkParentQuestRequest;
 import com.popoworld.backend.quest.dto.ParentQuestRequest;
 import com.popoworld.backend.quest.dto.QuestResponse;
 import com.popoworld.backend.quest.dto.QuestStateChangeRequest;
 import com.popoworld.backend.quest.service.QuestService;
+import com.popoworld.backend.quest.subscription.QuestSubscriptionRegistry;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 import java.util.UUID;
@@ -22,26 +32,37 @@ import java.util.UUID;
 @Tag(name="Quest", description = "퀘스트 관리 API")
 public class QuestController {
     private final QuestService questService;
+    private final QuestSubscriptionRegistry questSubscriptionRegistry;
 
     @GetMapping
     @Operation(
             summary = "퀘스트 목록 조회",
-            description = "퀘스트 목록을 조회합니다. 타입으로 필터링 가능합니다."
+            description = "퀘스트 목록을 조회합니다. 타입으로 필터링 가능합니다. If-None-Match에 이전 ETag를 보내면 변경이 없을 때 304를 반환합니다."
     )
     @ApiResponses({
-            @ApiResponse(responseCode = "200", description = "퀘스트 조회 성공"),
+            @ApiResponse(responseCode = "200", description = "퀘스트 조회 성공",
+                    content = @Content(mediaType = "application/json",
+                            array = @ArraySchema(schema = @Schema(implementation = QuestResponse.class)))),
+            @ApiResponse(responseCode = "304", description = "변경 없음 (이전 응답 그대로 사용)"),
             @ApiResponse(responseCode = "400", description = "잘못된 파라미터"),
             @ApiResponse(responseCode = "401", description = "인증 실패")
     })
-    public ResponseEntity<List<QuestResponse>> getQuests(
+    public ResponseEntity<byte[]> getQuests(
             @Parameter(description = "퀘스트 타입 (parent, daily)", example = "daily")
-            @RequestParam(required = false) String type
+            @RequestParam(required = false) String type,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
     ){
         try{
             //JWT에서 childId 추출 예정, 현재는 임시값!
             UUID childId = UUID.fromString("c1111111-2222-3333-4444-555555555555");
-            List<QuestResponse>quests = questService.getQuestsByType(childId,type);
-            return ResponseEntity.ok(quests);
+            QuestResponseCache.CachedQuestList quests = questService.getQuestListCached(childId, type);
+            if (matchesEtag(ifNoneMatch, quests.etag())) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(quests.etag()).build();
+            }
+            return ResponseEntity.ok()
+                    .eTag(quests.etag())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(quests.body());
         }catch (IllegalArgumentException e){
             //잘못된 type enum값이 들어온 경우
             return ResponseEntity.badRequest().build();
@@ -51,6 +72,49 @@ public class QuestController {
         }
     }
 
+    // 퀘스트 변경 구독 (폴링 대신 서버가 바뀐 퀘스트를 보내줌)
+    @GetMapping(value = "/subscribe", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(
+            summary = "퀘스트 변경 구독 (SSE)",
+            description = "아이의 퀘스트가 생성/상태 변경/만료되면 'quest' 이벤트로 바뀐 퀘스트 목록을 보냅니다. 연결 직후 'connected' 이벤트가 한 번 오고, 주기적으로 heartbeat 주석이 옵니다."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "구독 시작"),
+            @ApiResponse(responseCode = "400", description = "잘못된 아이 ID"),
+            @ApiResponse(responseCode = "503", description = "구독 연결 수 초과")
+    })
+    public ResponseEntity<SseEmitter> subscribe(
+            @Parameter(description = "아이 ID (JWT 적용 후 토큰에서 추출 예정)")
+            @RequestParam String childId
+    ) {
+        try {
+            SseEmitter emitter = questSubscriptionRegistry.subscribe(UUID.fromString(childId));
+            return ResponseEntity.ok()
+                    .header("X-Accel-Buffering", "no") // nginx 응답 버퍼링 끄기
+                    .body(emitter);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+    }
+
+    private boolean matchesEtag(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.startsWith("W/")) {
+                value = value.substring(2);
+            }
+            if (value.equals("*") || value.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
 
     //테스트용 api. 신규 가입자 일일퀘스트는 자정에 생성하는게 아니라 가입하자마자 생성해야되니까
     //그거 테스트 하는 api임. 나중에 삭제될거
@@ -106,4 +170,42 @@ public class QuestController {
             return ResponseEntity.internalServerError().build();
         }
     }
+
+    // 부모 퀘스트 여러 개 생성 API (여러 아이에게 같은 퀘스트 / 일주일치 퀘스트 등록)
+    @PostMapping("/create/bulk")
+    @Operation(
+            summary = "부모 퀘스트 일괄 생성",
+            description = "childIds가 있으면 quests의 모든 퀘스트를 각 아이에게 생성하고, 없으면 quests의 각 퀘스트를 해당 childId로 생성합니다. 한 트랜잭션으로 저장되며 하나라도 잘못되면 아무것도 생성되지 않습니다."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "퀘스트 생성 성공",
+                    content = @Content(mediaType = "application/json",
+                            array = @ArraySchema(schema = @Schema(implementation = QuestResponse.class)))),
+            @ApiResponse(responseCode = "400", description = "잘못된 요청 데이터 또는 최대 개수 초과"),
+            @ApiResponse(responseCode = "500", description = "서버 오류")
+    })
+    public ResponseEntity<?> createParentQuests(@RequestBody BulkParentQuestRequest request) {
+        try {
+            List<QuestResponse> createdQuests = questService.createParentQuests(request);
+            return ResponseEntity.ok(createdQuests);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError().body("서버 오류가 발생했습니다.");
+        }
+    }
+
+    // 일일퀘스트 템플릿 다시 불러오기
+    @PostMapping("/templates/reload")
+    @Operation(
+            summary = "일일퀘스트 템플릿 다시 불러오기",
+            description = "daily_quest_template 테이블을 다시 읽어서 일일퀘스트 템플릿을 교체합니다. (배포 없이 변경 반영)"
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "템플릿 로드 성공")
+    })
+    public ResponseEntity<String> reloadDailyQuestTemplates() {
+        int count = questService.reloadDailyQuestTemplates();
+        return ResponseEntity.ok("✅ 일일퀘스트 템플릿 " + count + "개 로드 완료");
+    }
 }
@@ -0,0 +1,23 @@
+package com.popoworld.backend.quest.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 부모퀘스트 한 번에 여러 개 생성
+ * - childIds가 있으면 quests의 모든 퀘스트를 childIds의 모든 아이에게 생성 (quests의 childId는 무시)
+ * - childIds가 비어 있으면 quests의 각 퀘스트를 각자의 childId로 생성 (일주일치 퀘스트 등록 등)
+ */
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkParentQuestRequest {
+    private List<UUID> childIds;
+    private List<ParentQuestRequest> quests;
+}
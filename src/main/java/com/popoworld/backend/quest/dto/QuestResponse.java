@@ -2,6 +2,7 @@ package com.popoworld.backend.quest.dto;
 
 
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.popoworld.backend.quest.entity.Quest;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -41,4 +42,21 @@ public class QuestResponse {
 
     @JsonProperty("imageUrl")
     private String imageUrl;
+
+    //Entity를 Dto로 변환
+    public static QuestResponse from(Quest quest) {
+        return QuestResponse.builder()
+                .questId(quest.getQuestId())
+                .childId(quest.getChildId())
+                .type(quest.getType().name().toLowerCase())
+                .name(quest.getName())
+                .description(quest.getDescription())
+                .state(quest.getState().name())
+                .endDate(quest.getEndDate())
+                .created(quest.getCreated())
+                .isStatic(quest.isStatic())
+                .reward(quest.getReward())
+                .imageUrl(quest.getImageUrl())
+                .build();
+    }
 }
@@ -0,0 +1,31 @@
+package com.popoworld.backend.quest.entity;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 일일퀘스트 템플릿 (운영 중 DB에서 수정 → DailyQuestTemplateRegistry가 다시 읽어감)
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Entity
+@Table(name = "daily_quest_template")
+public class DailyQuestTemplate {
+    @Id
+    private String templateKey; // lazy 모드 일일퀘스트 ID 생성에도 쓰이므로 한 번 정하면 바꾸지 않기
+
+    private Integer sortOrder;
+
+    private String name;
+
+    private String description;
+
+    private Integer reward;
+
+    private boolean active;
+}
@@ -7,6 +7,7 @@ import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Persistable;
 
 import java.time.LocalDateTime;
 import java.time.ZoneId;
@@ -16,14 +17,22 @@ import java.util.UUID;
 @AllArgsConstructor
 @Getter
 @Entity
-@Table(name="quest")
-public class Quest {
+@Table(name="quest", indexes = {
+        // findByChildIdAndTypeOrderByCreatedAsc, findByChildId, deleteByTypeAndChildIdIn (정렬까지 인덱스로 처리)
+        @Index(name = "idx_quest_child_type_created", columnList = "child_id, type, created"),
+        // 일일퀘스트 리셋 마무리 단계 (deleteByTypeAndCreatedBefore)
+        @Index(name = "idx_quest_type_created", columnList = "type, created")
+        // 부모퀘스트 만료용 부분 인덱스(idx_quest_open_parent_end_date)는 JPA로 선언할 수 없어서
+        // resources/db/quest-indexes.sql 에서 관리
+})
+public class Quest implements Persistable<UUID> {
     @Id
     private UUID questId;
 
     private UUID childId;
 
     @NotNull
+    @Enumerated(EnumType.STRING)
     private QuestType type;
 
     private String name;
@@ -43,6 +52,29 @@ public class Quest {
 
     private String imageUrl;
 
+    // questId를 직접 할당하므로 save() 시 merge(SELECT 후 INSERT)가 아닌 persist로 처리되도록 신규 여부를 직접 관리
+    // → hibernate.jdbc.batch_size 설정대로 INSERT가 batch로 묶임
+    @Transient
+    private boolean isNew = true;
+
+    @Override
+    public UUID getId() {
+        return questId;
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.isNew = false;
+    }
+
+    // 이름 그대로 저장됨 (순서는 바꿔도 되지만 이름을 바꾸면 QuestRepository 네이티브 쿼리와
+    // resources/db 의 부분 인덱스/마이그레이션에 쓰인 'PARENT', 'DAILY' 도 같이 바꿔야 함)
     public enum QuestType{
         PARENT, DAILY
     }
@@ -51,17 +83,18 @@ public class Quest {
     public void changeState(QuestState newState){
         this.state=newState;
     }
-    //일일 퀘스트 생성용 정적 메서드
-    public static Quest createDailyQuest(UUID childId, String name, String description, int reward) {
+    //일일 퀘스트 생성용 정적 메서드 (템플릿에서 복사, 시간 값은 호출하는 쪽에서 한 번만 계산)
+    public static Quest createDailyQuest(UUID questId, UUID childId, String name, String description, int reward,
+                                         LocalDateTime endDate, LocalDateTime created) {
         Quest quest = new Quest();
-        quest.questId = UUID.randomUUID();
+        quest.questId = questId;
         quest.childId = childId;
         quest.type = QuestType.DAILY;
         quest.name = name;
         quest.description = description;
         quest.state = QuestState.PENDING_ACCEPT;
-        quest.endDate = LocalDateTime.now().toLocalDate().atTime(23, 59, 59);
-        quest.created = LocalDateTime.now(ZoneId.of("Asia/Seoul")); // 한국 시간 명시
+        quest.endDate = endDate;
+        quest.created = created;
         quest.isStatic = false;
         quest.reward = reward;
         quest.imageUrl = null;
@@ -0,0 +1,51 @@
+package com.popoworld.backend.quest.entity;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.UUID;
+
+/**
+ * 일일퀘스트 리셋 진행 상황 (어느 아이까지 처리했는지)
+ * 중간에 서버가 죽어도 다음 실행 때 lastChildId 다음부터 이어서 처리
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Entity
+@Table(name = "quest_rollover_checkpoint")
+public class QuestRolloverCheckpoint {
+    @Id
+    private String jobKey; // 예: DAILY_ROLLOVER:2026-10-18
+
+    private UUID lastChildId; // 마지막으로 처리 완료한 아이 (null이면 처음부터)
+
+    private boolean completed;
+
+    private LocalDateTime updatedAt;
+
+    public static QuestRolloverCheckpoint start(String jobKey) {
+        QuestRolloverCheckpoint checkpoint = new QuestRolloverCheckpoint();
+        checkpoint.jobKey = jobKey;
+        checkpoint.lastChildId = null;
+        checkpoint.completed = false;
+        checkpoint.updatedAt = LocalDateTime.now(ZoneId.of("Asia/Seoul"));
+        return checkpoint;
+    }
+
+    public void advance(UUID lastChildId) {
+        this.lastChildId = lastChildId;
+        this.updatedAt = LocalDateTime.now(ZoneId.of("Asia/Seoul"));
+    }
+
+    public void complete() {
+        this.completed = true;
+        this.updatedAt = LocalDateTime.now(ZoneId.of("Asia/Seoul"));
+    }
+}
@@ -0,0 +1,29 @@
+package com.popoworld.backend.quest.entity;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 일일퀘스트 리셋 파티션 임대(lease)
+ * 여러 서버가 같은 cron으로 동시에 돌아도 파티션 하나는 leaseOwner 한 곳에서만 처리
+ * (획득/연장은 QuestRolloverLeaseRepository의 조건부 UPSERT/UPDATE로만 처리)
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Entity
+@Table(name = "quest_rollover_lease")
+public class QuestRolloverLease {
+    @Id
+    private String jobKey; // 예: DAILY_ROLLOVER:2026-10-18#p3
+
+    private String leaseOwner; // 임대 중인 서버 ID
+
+    private LocalDateTime leaseUntil; // 이 시간이 지나면 다른 서버가 가져갈 수 있음
+}
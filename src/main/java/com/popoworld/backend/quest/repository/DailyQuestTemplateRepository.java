@@ -0,0 +1,12 @@
+package com.popoworld.backend.quest.repository;
+
+import com.popoworld.backend.quest.entity.DailyQuestTemplate;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface DailyQuestTemplateRepository extends JpaRepository<DailyQuestTemplate, String> {
+    List<DailyQuestTemplate> findByActiveTrueOrderBySortOrderAsc();
+}
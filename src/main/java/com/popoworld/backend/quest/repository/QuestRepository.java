@@ -1,15 +1,17 @@
 package com.popoworld.backend.quest.repository;
 
 import com.popoworld.backend.quest.entity.Quest;
-import com.popoworld.backend.quest.enums.QuestState;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Repository
@@ -17,21 +19,85 @@ public interface QuestRepository extends JpaRepository<Quest, UUID> {
     //기본 조회
     //아이별 퀘스트 조회
     List<Quest> findByChildId(UUID childId);
-    //아이별+타입별 퀘스트 조회
-    List<Quest> findByChildIdAndType(UUID childId, Quest.QuestType type);
+    //아이별+타입별 퀘스트 조회 (idx_quest_child_type_created 순서 그대로 반환)
+    List<Quest> findByChildIdAndTypeOrderByCreatedAsc(UUID childId, Quest.QuestType type);
 
     //스케줄러용
     @Modifying //select가 아니라 db에 변경을 가하는 쿼리임을 나타냄
     @Query("DELETE FROM Quest q WHERE q.type = :type")
     void deleteByType(@Param("type")Quest.QuestType type);
 
-    // 부모퀘스트 만료 처리용 - 이 메서드를 추가하세요!
+    // 일일퀘스트 리셋용 - 청크 단위로 해당 아이들의 퀘스트만 삭제
     @Modifying
-    @Query("UPDATE Quest q SET q.state = :expiredState WHERE q.type = :questType AND q.endDate < :now AND q.state NOT IN (:completedState, :expiredState)")
-    int updateExpiredParentQuests(
-            @Param("now") LocalDateTime now,
-            @Param("questType") Quest.QuestType questType,
-            @Param("expiredState") QuestState expiredState,
-            @Param("completedState") QuestState completedState
-    );
+    @Query("DELETE FROM Quest q WHERE q.type = :type AND q.childId IN :childIds")
+    int deleteByTypeAndChildIdIn(@Param("type") Quest.QuestType type, @Param("childIds") Collection<UUID> childIds);
+
+    // 일일퀘스트 리셋 마무리 - 아이 목록에서 빠진 아이들의 지난 퀘스트 정리
+    @Modifying
+    @Query("DELETE FROM Quest q WHERE q.type = :type AND q.created < :before")
+    int deleteByTypeAndCreatedBefore(@Param("type") Quest.QuestType type, @Param("before") LocalDateTime before);
+
+    // 부모퀘스트 만료 처리용 (자정 유지보수의 안전망 - 평소에는 마감 큐가 처리)
+    // 조건을 부분 인덱스(idx_quest_open_parent_end_date)의 WHERE절과 똑같이 리터럴로 써야 플래너가 그 인덱스를 사용함
+    // (type은 이름으로 저장됨 - QuestType.PARENT 이름을 바꾸면 이 쿼리들과 부분 인덱스도 같이 바꿔야 함)
+    @Modifying
+    @Query(value = "UPDATE quest SET state = 'EXPIRED' " +
+            "WHERE type = 'PARENT' AND state NOT IN ('COMPLETED', 'EXPIRED') AND end_date < :now",
+            nativeQuery = true)
+    int updateExpiredParentQuests(@Param("now") LocalDateTime now);
+
+    // 부모퀘스트 마감 큐 로드용 - until 전에 마감되는 진행 중 부모퀘스트 (부분 인덱스 범위 조회)
+    @Query(value = "SELECT * FROM quest " +
+            "WHERE type = 'PARENT' AND state NOT IN ('COMPLETED', 'EXPIRED') AND end_date < :until",
+            nativeQuery = true)
+    List<Quest> findOpenParentQuestsEndingBefore(@Param("until") LocalDateTime until);
+
+    // 마감 큐에서 꺼낸 부모퀘스트만 ID로 만료 처리 (이미 최종 상태면 건너뜀)
+    // 실제로 만료된 행만 돌려받아서 캐시 무효화/구독자 알림에 사용
+    @Transactional
+    @Query(value = "UPDATE quest SET state = 'EXPIRED' " +
+            "WHERE quest_id IN (:questIds) AND type = 'PARENT' AND state NOT IN ('COMPLETED', 'EXPIRED') " +
+            "RETURNING *",
+            nativeQuery = true)
+    List<Quest> expireParentQuests(@Param("questIds") Collection<UUID> questIds);
+
+    // 퀘스트 상태 변경 - 현재 상태가 기대한 이전 상태일 때만 바꾸는 조건부 UPDATE
+    // 동시에 두 요청이 와도 한 쪽만 행을 바꾸고, 나머지는 결과가 비어 있음 (나중 요청이 조용히 덮어쓰지 않음)
+    // RETURNING으로 바뀐 행을 같이 받아서 캐시 무효화/구독자 알림에 쓰고 따로 조회하지 않음
+    // (UPDATE ... RETURNING은 결과를 돌려주므로 @Modifying이 아닌 조회 쿼리로 실행)
+    @Transactional
+    @Query(value = "UPDATE quest SET state = :target " +
+            "WHERE quest_id = :questId AND state = :expected " +
+            "RETURNING *",
+            nativeQuery = true)
+    Optional<Quest> transitionState(@Param("questId") UUID questId,
+                                    @Param("expected") String expected,
+                                    @Param("target") String target);
+
+    // lazy 모드 템플릿 일일퀘스트의 첫 저장 - 이미 있으면(동시 요청이 먼저 저장) 아무것도 하지 않고 0 반환
+    // (PK 중복 예외로 트랜잭션이 rollback-only가 되지 않도록 ON CONFLICT로 처리)
+    @Modifying
+    @Query(value = "INSERT INTO quest (quest_id, child_id, type, name, description, state, end_date, created, " +
+            "is_static, reward, image_url) " +
+            "VALUES (:questId, :childId, :type, :name, :description, :state, :endDate, :created, " +
+            ":isStatic, :reward, :imageUrl) " +
+            "ON CONFLICT (quest_id) DO NOTHING",
+            nativeQuery = true)
+    int insertIfAbsent(@Param("questId") UUID questId,
+                       @Param("childId") UUID childId,
+                       @Param("type") String type,
+                       @Param("name") String name,
+                       @Param("description") String description,
+                       @Param("state") String state,
+                       @Param("endDate") LocalDateTime endDate,
+                       @Param("created") LocalDateTime created,
+                       @Param("isStatic") boolean isStatic,
+                       @Param("reward") Integer reward,
+                       @Param("imageUrl") String imageUrl);
+
+    default boolean insertIfAbsent(Quest quest) {
+        return insertIfAbsent(quest.getQuestId(), quest.getChildId(), quest.getType().name(), quest.getName(),
+                quest.getDescription(), quest.getState().name(), quest.getEndDate(), quest.getCreated(),
+                quest.isStatic(), quest.getReward(), quest.getImageUrl()) > 0;
+    }
 }
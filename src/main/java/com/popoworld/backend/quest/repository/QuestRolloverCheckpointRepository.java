@@ -0,0 +1,9 @@
+package com.popoworld.backend.quest.repository;
+
+import com.popoworld.backend.quest.entity.QuestRolloverCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface QuestRolloverCheckpointRepository extends JpaRepository<QuestRolloverCheckpoint, String> {
+}
@@ -0,0 +1,35 @@
+package com.popoworld.backend.quest.repository;
+
+import com.popoworld.backend.quest.entity.QuestRolloverLease;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface QuestRolloverLeaseRepository extends JpaRepository<QuestRolloverLease, String> {
+
+    // 임대 획득 - 비어 있거나, 만료됐거나, 이미 내 것이면 1 반환 (시간은 서버 시계가 아닌 DB 시간 기준)
+    @Modifying
+    @Query(value = "INSERT INTO quest_rollover_lease (job_key, lease_owner, lease_until) " +
+            "VALUES (:jobKey, :owner, LOCALTIMESTAMP + make_interval(secs => :leaseSeconds)) " +
+            "ON CONFLICT (job_key) DO UPDATE SET lease_owner = EXCLUDED.lease_owner, lease_until = EXCLUDED.lease_until " +
+            "WHERE quest_rollover_lease.lease_until < LOCALTIMESTAMP OR quest_rollover_lease.lease_owner = :owner",
+            nativeQuery = true)
+    int tryAcquire(@Param("jobKey") String jobKey, @Param("owner") String owner, @Param("leaseSeconds") int leaseSeconds);
+
+    // 임대 연장 - 아직 내 임대일 때만 1 반환 (청크 트랜잭션 안에서 호출 → 커밋 전까지 행 잠금으로 다른 서버 획득 차단)
+    @Modifying
+    @Query(value = "UPDATE quest_rollover_lease SET lease_until = LOCALTIMESTAMP + make_interval(secs => :leaseSeconds) " +
+            "WHERE job_key = :jobKey AND lease_owner = :owner AND lease_until >= LOCALTIMESTAMP",
+            nativeQuery = true)
+    int renew(@Param("jobKey") String jobKey, @Param("owner") String owner, @Param("leaseSeconds") int leaseSeconds);
+
+    // 임대 반납
+    @Modifying
+    @Query(value = "UPDATE quest_rollover_lease SET lease_until = LOCALTIMESTAMP " +
+            "WHERE job_key = :jobKey AND lease_owner = :owner",
+            nativeQuery = true)
+    int release(@Param("jobKey") String jobKey, @Param("owner") String owner);
+}
@@ -1,60 +1,95 @@
 package com.popoworld.backend.quest.scheduler;
 
+import com.popoworld.backend.quest.cache.QuestResponseCache;
 import com.popoworld.backend.quest.entity.Quest;
-import com.popoworld.backend.quest.enums.QuestState;
+import com.popoworld.backend.quest.entity.QuestRolloverCheckpoint;
 import com.popoworld.backend.quest.repository.QuestRepository;
+import com.popoworld.backend.quest.repository.QuestRolloverCheckpointRepository;
+import com.popoworld.backend.quest.repository.QuestRolloverLeaseRepository;
+import com.popoworld.backend.quest.service.DailyQuestTemplateRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class DailyQuestScheduler {
 
+    private static final ZoneId KST = ZoneId.of("Asia/Seoul");
+
     private final QuestRepository questRepository;
+    private final QuestRolloverCheckpointRepository checkpointRepository;
+    private final QuestRolloverLeaseRepository leaseRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final DailyQuestTemplateRegistry dailyQuestTemplateRegistry;
+    private final QuestResponseCache questResponseCache;
+
+    @Value("${quest.daily.mode:materialized}")
+    private String dailyMode; // materialized | lazy (QuestService 참고)
+
+    @Value("${quest.rollover.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${quest.rollover.partitions:16}")
+    private int partitions; // 아이 ID 해시 파티션 수 (서버/스레드 간 작업 분배 단위)
+
+    @Value("${quest.rollover.worker-threads:4}")
+    private int workerThreads;
+
+    @Value("${quest.rollover.lease-seconds:300}")
+    private int leaseSeconds; // 청크 하나 처리 시간보다 충분히 길게
+
+    private final String nodeId = Optional.ofNullable(System.getenv("HOSTNAME")).orElse("node")
+            + ":" + UUID.randomUUID();
+
+    private ExecutorService rolloverExecutor;
+
+    private final AtomicBoolean rolloverRunning = new AtomicBoolean(); // 자정 실행과 재시도가 이 서버에서 겹치지 않도록
+    private volatile LocalDate completedDay; // 완료 표시를 확인한 날 (그날은 재시도에서 DB 조회도 하지 않음)
+
+    @PostConstruct
+    public void initRolloverExecutor() {
+        rolloverExecutor = Executors.newFixedThreadPool(workerThreads, new CustomizableThreadFactory("quest-rollover-"));
+    }
 
 
     /**
-     * 매일 자정에 일일퀘스트 리셋 및 부모퀘스트 만료 처리
+     * 매일 자정(한국 시간)에 일일퀘스트 리셋 및 부모퀘스트 만료 처리
+     * 전체를 하나의 트랜잭션으로 묶지 않고, 아이 목록을 파티션/청크 단위로 나눠 청크마다 커밋한다.
+     * 부모퀘스트 만료는 평소에는 ParentQuestExpiryScheduler가 마감 큐로 처리하고, 여기서는 놓친 것만 정리한다.
      */
-//    @Scheduled(cron = "0 0 0 * * *")
-    @Scheduled(cron = "0 * * * * *")
-    @Transactional
+    @Scheduled(cron = "0 0 0 * * *", zone = "Asia/Seoul")
     public void dailyMaintenance() {
         log.info("🎮 일일 유지보수 시작 - {}", LocalDateTime.now());
 
         try {
-            // 1단계: 부모퀘스트 만료 처리 (먼저 처리)
-            expireOverdueParentQuests();
-
-            // 2단계: 모든 일일퀘스트 삭제
-            questRepository.deleteByType(Quest.QuestType.DAILY);
-            log.info("🗑️ 기존 일일퀘스트 모두 삭제 완료");
-
-            // 3단계: 모든 아이들 목록 조회 (🔥 하드코딩된 목록)
-            List<UUID> allChildren = getAllChildren();
-            log.info("📊 전체 아이 수: {}", allChildren.size());
-
-            // 4단계: 각 아이에게 새로운 일일퀘스트 생성
-            int totalCreated = 0;
-            for (UUID childId : allChildren) {
-                List<Quest> newQuests = createDailyQuestsForChild(childId);
-                questRepository.saveAll(newQuests);
-                totalCreated += newQuests.size();
-                log.info("✅ 아이 [{}]에게 퀘스트 {}개 생성", childId, newQuests.size());
-            }
+            // 1단계: 부모퀘스트 만료 안전망 (마감 큐에서 놓친 것, 단독 트랜잭션)
+            transactionTemplate.executeWithoutResult(status -> expireOverdueParentQuests());
 
-            log.info("✅ 일일 유지보수 완료 - 총 {}개 퀘스트 생성", totalCreated);
+            // 2단계: 일일퀘스트 리셋 (파티션별 병렬, 청크 단위, 체크포인트부터 이어서)
+            rolloverDailyQuests();
 
         } catch (Exception e) {
             log.error("❌ 일일 유지보수 실패", e);
@@ -62,22 +97,204 @@ public class DailyQuestScheduler {
     }
 
     /**
-     * 부모퀘스트 만료 처리 (쿼리 방식) - 새로 추가된 메서드
+     * 같은 날 재시도 - 자정 리셋이 서버 장애나 파티션 실패로 끝나지 못했으면 남은 파티션을 체크포인트부터 이어서 처리
+     * 서버 시작 직후에도 한 번 확인하고, 오늘 작업이 완료 표시(completeDay)된 뒤에는 다음 날까지 아무것도 하지 않음
+     */
+    @Scheduled(initialDelayString = "${quest.rollover.catch-up-initial-delay-ms:30000}",
+            fixedDelayString = "${quest.rollover.catch-up-interval-ms:60000}")
+    public void catchUpDailyRollover() {
+        if (LocalDate.now(KST).equals(completedDay)) {
+            return;
+        }
+        try {
+            rolloverDailyQuests();
+        } catch (Exception e) {
+            log.error("❌ 일일퀘스트 리셋 재시도 실패", e);
+        }
+    }
+
+    private void rolloverDailyQuests() {
+        if (!rolloverRunning.compareAndSet(false, true)) {
+            log.info("⏭️ 일일퀘스트 리셋이 이미 이 서버에서 실행 중");
+            return;
+        }
+        try {
+            rolloverToday();
+        } finally {
+            rolloverRunning.set(false);
+        }
+    }
+
+    /**
+     * 오늘 날짜의 일일퀘스트 리셋
+     * - 아이 ID 해시로 partitions개 파티션으로 나누고, 파티션들을 워커 스레드에서 병렬 처리
+     * - 파티션마다 DB 임대(lease)를 먼저 잡아야 처리 → 여러 서버가 동시에 돌아도 한 파티션은 한 곳에서만 처리
+     * - 파티션 안에서는 아이 ID 순서(keyset)로 chunkSize명씩 잘라서 청크마다 커밋, 체크포인트부터 재개
+     * - 모든 파티션이 끝난 뒤에 정리 단계를 돌리고 오늘 작업을 완료 표시
+     */
+    private void rolloverToday() {
+        LocalDate today = LocalDate.now(KST);
+        String dayKey = "DAILY_ROLLOVER:" + today;
+
+        if (checkpointRepository.findById(dayKey).map(QuestRolloverCheckpoint::isCompleted).orElse(false)) {
+            log.info("⏭️ 오늘 일일퀘스트 리셋은 이미 완료됨 - {}", dayKey);
+            completedDay = today;
+            return;
+        }
+
+        if ("lazy".equalsIgnoreCase(dailyMode)) {
+            // lazy 모드: 일일퀘스트는 조회 시 템플릿으로 만들어지므로 새로 생성하지 않고 정리만 함
+            completeDay(dayKey, today);
+            return;
+        }
+
+        // 3단계: 파티션별 병렬 처리
+        List<String> partitionKeys = new ArrayList<>(partitions);
+        List<CompletableFuture<Integer>> futures = new ArrayList<>(partitions);
+        for (int p = 0; p < partitions; p++) {
+            int partition = p;
+            String jobKey = dayKey + "#p" + partition;
+            partitionKeys.add(jobKey);
+            futures.add(CompletableFuture
+                    .supplyAsync(() -> rolloverPartition(jobKey, partition), rolloverExecutor)
+                    .exceptionally(e -> {
+                        log.error("❌ 파티션 {} 일일퀘스트 리셋 실패", partition, e);
+                        return 0;
+                    }));
+        }
+        int totalCreated = futures.stream().mapToInt(CompletableFuture::join).sum();
+
+        // 4단계: 모든 파티션이 끝났을 때만 (다른 서버가 처리한 파티션 포함) 정리 후 완료 표시
+        long completedPartitions = checkpointRepository.findAllById(partitionKeys).stream()
+                .filter(QuestRolloverCheckpoint::isCompleted)
+                .count();
+        if (completedPartitions < partitions) {
+            log.info("⏳ 이 서버에서 {}개 생성 - 완료된 파티션 {}/{} (나머지는 다른 서버가 처리 중이거나 재시도 때 재개)",
+                    totalCreated, completedPartitions, partitions);
+            return;
+        }
+
+        if (completeDay(dayKey, today)) {
+            log.info("✅ 일일 유지보수 완료 - 이 서버에서 총 {}개 퀘스트 생성", totalCreated);
+        }
+    }
+
+    /**
+     * 5단계: 지난 일일퀘스트 정리 후 오늘 작업 완료 표시
+     * (materialized 모드: 목록에서 빠진 아이들의 퀘스트 / lazy 모드: 어제까지 저장된 상태 행)
+     */
+    private boolean completeDay(String dayKey, LocalDate today) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                int removed = questRepository.deleteByTypeAndCreatedBefore(Quest.QuestType.DAILY, today.atStartOfDay());
+                QuestRolloverCheckpoint dayCheckpoint = checkpointRepository.findById(dayKey)
+                        .orElseGet(() -> checkpointRepository.save(QuestRolloverCheckpoint.start(dayKey)));
+                dayCheckpoint.complete();
+                questResponseCache.evictAllAfterCommit(Quest.QuestType.DAILY);
+                log.info("🗑️ 남아있던 지난 일일퀘스트 {}개 삭제", removed);
+            });
+            completedDay = today;
+            return true;
+        } catch (DataIntegrityViolationException e) {
+            // 다른 서버가 동시에 완료 표시함
+            log.info("⏭️ 다른 서버가 오늘 일일퀘스트 리셋을 완료 처리함");
+            return false;
+        }
+    }
+
+    /**
+     * 파티션 하나 처리 (임대를 못 잡으면 다른 서버가 처리 중이므로 건너뜀)
+     */
+    private int rolloverPartition(String jobKey, int partition) {
+        Boolean acquired = transactionTemplate.execute(status ->
+                leaseRepository.tryAcquire(jobKey, nodeId, leaseSeconds) == 1);
+        if (!Boolean.TRUE.equals(acquired)) {
+            log.info("⏭️ 파티션 {}은 다른 서버가 처리 중", partition);
+            return 0;
+        }
+
+        try {
+            QuestRolloverCheckpoint checkpoint = checkpointRepository.findById(jobKey)
+                    .orElseGet(() -> checkpointRepository.save(QuestRolloverCheckpoint.start(jobKey)));
+            if (checkpoint.isCompleted()) {
+                return 0;
+            }
+
+            UUID lastChildId = checkpoint.getLastChildId();
+            if (lastChildId != null) {
+                log.info("🔁 파티션 {} 체크포인트부터 재개 - 마지막 처리 아이: {}", partition, lastChildId);
+            }
+
+            int created = 0;
+            while (true) {
+                // 다음 청크의 아이 목록 조회
+                List<UUID> chunk = findChildIdsAfter(partition, lastChildId, chunkSize);
+                if (chunk.isEmpty()) {
+                    break;
+                }
+
+                // 청크 단위로 일일퀘스트 교체 (청크마다 커밋)
+                Integer chunkCreated = transactionTemplate.execute(status -> rolloverChunk(jobKey, chunk));
+                created += chunkCreated == null ? 0 : chunkCreated;
+                lastChildId = chunk.get(chunk.size() - 1);
+                log.info("✅ 파티션 {} - 아이 {}명에게 일일퀘스트 {}개 생성 (마지막: {})",
+                        partition, chunk.size(), chunkCreated, lastChildId);
+            }
+
+            transactionTemplate.executeWithoutResult(status ->
+                    checkpointRepository.findById(jobKey).ifPresent(QuestRolloverCheckpoint::complete));
+            return created;
+        } finally {
+            transactionTemplate.executeWithoutResult(status -> leaseRepository.release(jobKey, nodeId));
+        }
+    }
+
+    private int rolloverChunk(String jobKey, List<UUID> childIds) {
+        // 임대가 아직 내 것인지 확인하면서 연장 (커밋 전까지 임대 행이 잠겨 있음)
+        if (leaseRepository.renew(jobKey, nodeId, leaseSeconds) == 0) {
+            throw new IllegalStateException("임대를 잃어서 처리 중단: " + jobKey);
+        }
+
+        questRepository.deleteByTypeAndChildIdIn(Quest.QuestType.DAILY, childIds);
+
+        // 시간 값은 청크당 한 번만 계산하고, 템플릿을 그대로 복사해서 생성
+        LocalDateTime created = LocalDateTime.now(KST);
+        LocalDateTime endDate = created.toLocalDate().atTime(23, 59, 59);
+        List<Quest> newQuests = new ArrayList<>(childIds.size() * dailyQuestTemplateRegistry.templates().size());
+        for (UUID childId : childIds) {
+            newQuests.addAll(dailyQuestTemplateRegistry.createDailyQuests(childId, endDate, created));
+        }
+        questRepository.saveAll(newQuests);
+        questResponseCache.evictAfterCommit(childIds, Quest.QuestType.DAILY);
+
+        checkpointRepository.findById(jobKey)
+                .orElseThrow(() -> new IllegalStateException("체크포인트가 없습니다: " + jobKey))
+                .advance(childIds.get(childIds.size() - 1));
+
+        return newQuests.size();
+    }
+
+    @PreDestroy
+    public void shutdownRolloverExecutor() {
+        rolloverExecutor.shutdown();
+    }
+
+    /**
+     * 부모퀘스트 만료 처리 (쿼리 방식) - 마감 큐가 놓친 퀘스트 정리용 (부분 인덱스 사용)
      */
     @Transactional
     public void expireOverdueParentQuests() {
         log.info("⏰ 부모퀘스트 만료 처리 시작");
 
         // 한국 시간으로 비교
-        LocalDateTime nowKST = LocalDateTime.now(ZoneId.of("Asia/Seoul"));
+        LocalDateTime nowKST = LocalDateTime.now(KST);
         log.info("🕐 현재 한국 시간: {}", nowKST);
 
-        int expiredCount = questRepository.updateExpiredParentQuests(
-                nowKST,  // 한국 시간 사용
-                Quest.QuestType.PARENT,
-                QuestState.EXPIRED,
-                QuestState.COMPLETED
-        );
+        int expiredCount = questRepository.updateExpiredParentQuests(nowKST); // 한국 시간 사용
+
+        if (expiredCount > 0) {
+            questResponseCache.evictAllAfterCommit(Quest.QuestType.PARENT);
+        }
 
         log.info("✅ 부모퀘스트 만료 처리 완료 - {}개 퀘스트 만료", expiredCount);
     }
@@ -89,12 +306,35 @@ public class DailyQuestScheduler {
     public void createDailyQuestsForNewChild(UUID childId) {
         log.info("🆕 새 아이 일일퀘스트 생성 - childId: {}", childId);
 
-        List<Quest> newQuests = createDailyQuestsForChild(childId);
+        LocalDateTime created = LocalDateTime.now(KST);
+        List<Quest> newQuests = dailyQuestTemplateRegistry.createDailyQuests(
+                childId, created.toLocalDate().atTime(23, 59, 59), created);
         questRepository.saveAll(newQuests);
+        questResponseCache.evictAfterCommit(childId, Quest.QuestType.DAILY);
 
         log.info("✅ 새 아이 일일퀘스트 생성 완료 - {}개", newQuests.size());
     }
 
+    /**
+     * partition에 속한 아이 중 afterChildId 다음 아이부터 limit명 조회 (keyset 페이지네이션)
+     * TODO: Child 테이블 생성하면 childRepository에서
+     *       WHERE partition_no = :partition AND child_id > :afterChildId ORDER BY child_id LIMIT :limit 로 조회하도록 변경하기!
+     *       (partition_no는 가입 시 partitionOf(childId)로 저장해두고 (partition_no, child_id) 인덱스 사용)
+     * 지금은 임시 하드코딩된 아이 목록 !!!
+     */
+    private List<UUID> findChildIdsAfter(int partition, UUID afterChildId, int limit) {
+        return getAllChildren().stream()
+                .filter(childId -> partitionOf(childId) == partition)
+                .sorted()
+                .filter(childId -> afterChildId == null || childId.compareTo(afterChildId) > 0)
+                .limit(limit)
+                .toList();
+    }
+
+    private int partitionOf(UUID childId) {
+        return Math.floorMod(childId.hashCode(), partitions);
+    }
+
     /**
      * 특정 아이에게 일일퀘스트 5개 생성
      * TODO: CHild 테이블 생성하면 childRepository.findAll()로 변경하기!
@@ -110,20 +350,4 @@ public class DailyQuestScheduler {
         log.info("🧪 하드코딩된 테스트 아이 목록 사용: {}명", testChildren.size());
         return testChildren;
     }
-
-    /**
-     * 특정 아이에게 일일퀘스트 5개 생성
-     */
-    private List<Quest> createDailyQuestsForChild(UUID childId) {
-        List<Quest> dailyQuests = new ArrayList<>();
-
-        // 🎯 정적 팩토리 메서드 사용
-        dailyQuests.add(Quest.createDailyQuest(childId, "양치하기", "밥 먹었으면 포포와 양치하자!", 100));
-        dailyQuests.add(Quest.createDailyQuest(childId, "장난감 정리하기", "가지고 온 장난감은 스스로 치워볼까?", 100));
-        dailyQuests.add(Quest.createDailyQuest(childId, "이불 개기", "일어나면 이불을 예쁘게 개자!", 100));
-        dailyQuests.add(Quest.createDailyQuest(childId, "식탁 정리 도와주기", "먹고 난 그릇, 포포랑 정리해보자!", 100));
-        dailyQuests.add(Quest.createDailyQuest(childId, "하루 이야기 나누기", "오늘 어땠는지 부모님과 얘기해보자!", 100));
-
-        return dailyQuests;
-    }
-}
\ No newline at end of file
+}
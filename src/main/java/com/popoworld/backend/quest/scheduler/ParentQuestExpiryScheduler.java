@@ -0,0 +1,76 @@
+package com.popoworld.backend.quest.scheduler;
+
+import com.popoworld.backend.quest.cache.QuestResponseCache;
+import com.popoworld.backend.quest.dto.QuestResponse;
+import com.popoworld.backend.quest.entity.Quest;
+import com.popoworld.backend.quest.repository.QuestRepository;
+import com.popoworld.backend.quest.service.ParentQuestDeadlineQueue;
+import com.popoworld.backend.quest.subscription.QuestChangedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * 부모퀘스트 만료 처리 (마감 큐 기반)
+ * 마감이 지난 퀘스트만 큐에서 꺼내서 ID로 만료시키므로, 작업량은 실제로 만료되는 퀘스트 수에 비례
+ * (여러 서버가 같은 퀘스트를 꺼내도 UPDATE 조건 때문에 한 번만 만료됨)
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ParentQuestExpiryScheduler {
+
+    private static final ZoneId KST = ZoneId.of("Asia/Seoul");
+
+    private final ParentQuestDeadlineQueue deadlineQueue;
+    private final QuestRepository questRepository;
+    private final QuestResponseCache questResponseCache;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${quest.expiry.batch-size:500}")
+    private int batchSize;
+
+    @Scheduled(fixedDelayString = "${quest.expiry.poll-interval-ms:1000}")
+    public void expireDueParentQuests() {
+        LocalDateTime nowKST = LocalDateTime.now(KST); // 한국 시간으로 비교
+        while (true) {
+            List<ParentQuestDeadlineQueue.Deadline> due = deadlineQueue.pollDue(nowKST, batchSize);
+            if (due.isEmpty()) {
+                return;
+            }
+            try {
+                Integer expired = transactionTemplate.execute(status -> expire(due));
+                log.info("⏰ 부모퀘스트 {}개 만료 (마감 지난 {}개 중)", expired, due.size());
+            } catch (Exception e) {
+                deadlineQueue.requeue(due);
+                log.error("❌ 부모퀘스트 만료 처리 실패 - {}개 다시 대기", due.size(), e);
+                return;
+            }
+        }
+    }
+
+    private int expire(List<ParentQuestDeadlineQueue.Deadline> due) {
+        List<UUID> questIds = due.stream().map(ParentQuestDeadlineQueue.Deadline::questId).toList();
+        List<Quest> expired = questRepository.expireParentQuests(questIds);
+        if (!expired.isEmpty()) {
+            questResponseCache.evictAfterCommit(expired.stream().map(Quest::getChildId).toList(), Quest.QuestType.PARENT);
+            // 구독자(SSE)에게 만료된 퀘스트 알림 (커밋 후 전송)
+            expired.stream()
+                    .collect(Collectors.groupingBy(Quest::getChildId))
+                    .forEach((childId, quests) -> eventPublisher.publishEvent(
+                            new QuestChangedEvent(childId, quests.stream().map(QuestResponse::from).toList())));
+        }
+        return expired.size();
+    }
+}
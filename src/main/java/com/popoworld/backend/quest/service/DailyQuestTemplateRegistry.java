@@ -0,0 +1,88 @@
+package com.popoworld.backend.quest.service;
+
+import com.popoworld.backend.quest.entity.DailyQuestTemplate;
+import com.popoworld.backend.quest.entity.Quest;
+import com.popoworld.backend.quest.repository.DailyQuestTemplateRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 일일퀘스트 템플릿 목록 (QuestService, DailyQuestScheduler 공용)
+ * - 시작할 때 한 번 daily_quest_template 테이블에서 읽고, 주기적으로/요청 시 다시 읽음 (배포 없이 변경)
+ * - 테이블이 비어 있으면 기본 템플릿 5개 사용
+ * - 목록은 불변 리스트로 통째로 교체하므로 읽는 쪽은 락 없이 사용
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class DailyQuestTemplateRegistry {
+
+    public record Template(String key, String name, String description, int reward) {
+    }
+
+    private static final List<Template> DEFAULT_TEMPLATES = List.of(
+            new Template("0", "양치하기", "밥 먹었으면 포포와 양치하자!", 100),
+            new Template("1", "장난감 정리하기", "가지고 온 장난감은 스스로 치워볼까?", 100),
+            new Template("2", "이불 개기", "일어나면 이불을 예쁘게 개자!", 100),
+            new Template("3", "식탁 정리 도와주기", "먹고 난 그릇, 포포랑 정리해보자!", 100),
+            new Template("4", "하루 이야기 나누기", "오늘 어땠는지 부모님과 얘기해보자!", 100)
+    );
+
+    private final DailyQuestTemplateRepository templateRepository;
+
+    private volatile List<Template> templates = DEFAULT_TEMPLATES;
+
+    @PostConstruct
+    public void init() {
+        reload();
+    }
+
+    @Scheduled(fixedDelayString = "${quest.template.reload-interval-ms:300000}",
+            initialDelayString = "${quest.template.reload-interval-ms:300000}")
+    public void scheduledReload() {
+        reload();
+    }
+
+    /**
+     * DB에서 템플릿 다시 읽기 (실패하면 기존 목록 유지)
+     */
+    public int reload() {
+        try {
+            List<DailyQuestTemplate> rows = templateRepository.findByActiveTrueOrderBySortOrderAsc();
+            templates = rows.isEmpty()
+                    ? DEFAULT_TEMPLATES
+                    : rows.stream()
+                            .map(row -> new Template(row.getTemplateKey(), row.getName(), row.getDescription(), row.getReward()))
+                            .toList();
+            log.info("📋 일일퀘스트 템플릿 {}개 로드 ({})", templates.size(), rows.isEmpty() ? "기본값" : "DB");
+        } catch (Exception e) {
+            log.error("❌ 일일퀘스트 템플릿 로드 실패 - 기존 템플릿 {}개 유지", templates.size(), e);
+        }
+        return templates.size();
+    }
+
+    public List<Template> templates() {
+        return templates;
+    }
+
+    /**
+     * 템플릿을 그대로 복사해서 아이의 일일퀘스트 생성 (시간 값은 호출하는 쪽에서 한 번만 계산해서 전달)
+     */
+    public List<Quest> createDailyQuests(UUID childId, LocalDateTime endDate, LocalDateTime created) {
+        List<Template> current = templates;
+        List<Quest> dailyQuests = new ArrayList<>(current.size());
+        for (Template template : current) {
+            dailyQuests.add(Quest.createDailyQuest(UUID.randomUUID(), childId, template.name(), template.description(),
+                    template.reward(), endDate, created));
+        }
+        return dailyQuests;
+    }
+}
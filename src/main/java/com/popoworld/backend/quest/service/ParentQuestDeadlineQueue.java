@@ -0,0 +1,141 @@
+package com.popoworld.backend.quest.service;
+
+import com.popoworld.backend.quest.entity.Quest;
+import com.popoworld.backend.quest.enums.QuestState;
+import com.popoworld.backend.quest.repository.QuestRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.PriorityBlockingQueue;
+
+/**
+ * 부모퀘스트 마감 시간 큐 (마감이 빠른 순서의 min-heap)
+ * - 앞으로 horizon 안에 마감되는 진행 중 부모퀘스트만 메모리에 올려둠 (부분 인덱스 idx_quest_open_parent_end_date로 조회)
+ * - 새로 만든 부모퀘스트는 커밋 후 바로 등록, 다른 서버에서 만든 퀘스트는 주기적인 reload로 들어옴
+ *   → reload 주기는 horizon보다 짧아야 마감 전에 큐에 들어옴
+ * - 만료 작업(ParentQuestExpiryScheduler)은 마감이 지난 것만 꺼내서 처리하므로 테이블 크기와 무관
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ParentQuestDeadlineQueue {
+
+    public record Deadline(UUID questId, UUID childId, LocalDateTime endDate) {
+    }
+
+    private static final ZoneId KST = ZoneId.of("Asia/Seoul");
+
+    private final QuestRepository questRepository;
+
+    private final PriorityBlockingQueue<Deadline> heap =
+            new PriorityBlockingQueue<>(64, Comparator.comparing(Deadline::endDate));
+    private final Set<UUID> queuedQuestIds = ConcurrentHashMap.newKeySet(); // 중복 등록 방지
+
+    @Value("${quest.expiry.horizon-minutes:60}")
+    private long horizonMinutes;
+
+    @PostConstruct
+    public void init() {
+        reload();
+    }
+
+    @Scheduled(fixedDelayString = "${quest.expiry.reload-interval-ms:1800000}",
+            initialDelayString = "${quest.expiry.reload-interval-ms:1800000}")
+    public void scheduledReload() {
+        reload();
+    }
+
+    /**
+     * horizon 안에 마감되는 진행 중 부모퀘스트를 DB에서 다시 읽어서 큐에 추가 (이미 있는 건 건너뜀)
+     */
+    public int reload() {
+        try {
+            LocalDateTime until = LocalDateTime.now(KST).plusMinutes(horizonMinutes);
+            int added = 0;
+            for (Quest quest : questRepository.findOpenParentQuestsEndingBefore(until)) {
+                if (offer(new Deadline(quest.getQuestId(), quest.getChildId(), quest.getEndDate()))) {
+                    added++;
+                }
+            }
+            log.info("⏰ 부모퀘스트 마감 큐 로드 - {}개 추가 (대기 {}개, {}분 이내 마감)", added, heap.size(), horizonMinutes);
+            return added;
+        } catch (Exception e) {
+            log.error("❌ 부모퀘스트 마감 큐 로드 실패 - 기존 큐 {}개 유지", heap.size(), e);
+            return 0;
+        }
+    }
+
+    /**
+     * 새로 만든 부모퀘스트 등록 (트랜잭션 안이면 커밋된 뒤에 등록)
+     */
+    public void registerAfterCommit(Quest quest) {
+        if (quest.getType() != Quest.QuestType.PARENT || quest.getEndDate() == null
+                || quest.getState() == QuestState.COMPLETED || quest.getState() == QuestState.EXPIRED) {
+            return;
+        }
+        // horizon 밖이면 나중에 reload로 들어옴
+        if (!quest.getEndDate().isBefore(LocalDateTime.now(KST).plusMinutes(horizonMinutes))) {
+            return;
+        }
+        Deadline deadline = new Deadline(quest.getQuestId(), quest.getChildId(), quest.getEndDate());
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    offer(deadline);
+                }
+            });
+        } else {
+            offer(deadline);
+        }
+    }
+
+    /**
+     * 마감이 now 이전인 것만 최대 max개 꺼냄 (마감 순서대로)
+     */
+    public List<Deadline> pollDue(LocalDateTime now, int max) {
+        List<Deadline> due = new ArrayList<>();
+        while (due.size() < max) {
+            Deadline head = heap.peek();
+            if (head == null || !head.endDate().isBefore(now)) {
+                break;
+            }
+            Deadline polled = heap.poll();
+            queuedQuestIds.remove(polled.questId());
+            due.add(polled);
+        }
+        return due;
+    }
+
+    // 만료 처리에 실패한 항목을 다시 넣음 (다음 실행 때 재시도)
+    public void requeue(Collection<Deadline> deadlines) {
+        deadlines.forEach(this::offer);
+    }
+
+    public int size() {
+        return heap.size();
+    }
+
+    private boolean offer(Deadline deadline) {
+        if (!queuedQuestIds.add(deadline.questId())) {
+            return false;
+        }
+        heap.offer(deadline);
+        return true;
+    }
+}
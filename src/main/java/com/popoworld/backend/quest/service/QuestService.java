@@ -1,60 +1,132 @@
 package com.popoworld.backend.quest.service;
 
+import com.popoworld.backend.quest.cache.QuestResponseCache;
+import com.popoworld.backend.quest.dto.BulkParentQuestRequest;
 import com.popoworld.backend.quest.dto.ParentQuestRequest;
 import com.popoworld.backend.quest.dto.QuestResponse;
 import com.popoworld.backend.quest.dto.QuestStateChangeRequest;
 import com.popoworld.backend.quest.entity.Quest;
 import com.popoworld.backend.quest.enums.QuestState;
 import com.popoworld.backend.quest.repository.QuestRepository;
+import com.popoworld.backend.quest.subscription.QuestChangedEvent;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class QuestService {
+    private static final ZoneId KST = ZoneId.of("Asia/Seoul");
+
     private final QuestRepository questRepository;
+    private final DailyQuestTemplateRegistry dailyQuestTemplateRegistry;
+    private final QuestResponseCache questResponseCache;
+    private final ParentQuestDeadlineQueue parentQuestDeadlineQueue;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // materialized: 매일 자정에 아이마다 일일퀘스트 행을 새로 생성 (기존 방식)
+    // lazy: 일일퀘스트는 템플릿에서 조회 시점에 만들어 보여주고, 아이가 상태를 바꿀 때만 행을 저장
+    @Value("${quest.daily.mode:materialized}")
+    private String dailyMode;
+
+    @Value("${quest.bulk.max-size:200}")
+    private int bulkMaxSize; // 한 번에 생성할 수 있는 부모퀘스트 수
 
     //타입 별 퀘스트 목록 조회
     public List<QuestResponse> getQuestsByType(UUID childId, String type){
         List<Quest> quests;
         Quest.QuestType questType = Quest.QuestType.valueOf(type.toUpperCase());
-        quests = questRepository.findByChildIdAndType(childId, questType);
+        quests = questRepository.findByChildIdAndTypeOrderByCreatedAsc(childId, questType);
+        if (questType == Quest.QuestType.DAILY && isLazyDailyMode()) {
+            quests = mergeWithDailyTemplates(childId, quests);
+        }
         return quests.stream()
                 .map(this::convertToDto)
                 .collect(Collectors.toList());
     }
 
+    // 타입 별 퀘스트 목록 조회 (직렬화된 응답 + ETag 캐시)
+    public QuestResponseCache.CachedQuestList getQuestListCached(UUID childId, String type) {
+        Quest.QuestType questType = Quest.QuestType.valueOf(type.toUpperCase());
+        return questResponseCache.get(childId, questType, () -> getQuestsByType(childId, type));
+    }
+
+    public boolean isLazyDailyMode() {
+        return "lazy".equalsIgnoreCase(dailyMode);
+    }
+
+    /**
+     * lazy 모드: 오늘의 템플릿 퀘스트에 아이가 상태를 바꿔서 저장된 행을 덮어씌움
+     * (저장된 행이 없는 퀘스트는 템플릿 그대로 = 수락 대기 상태)
+     */
+    private List<Quest> mergeWithDailyTemplates(UUID childId, List<Quest> storedQuests) {
+        Map<UUID, Quest> stored = storedQuests.stream()
+                .collect(Collectors.toMap(Quest::getQuestId, Function.identity()));
+        return buildTodayDailyQuests(childId).stream()
+                .map(template -> stored.getOrDefault(template.getQuestId(), template))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * lazy 모드: 아이별/날짜별로 항상 같은 ID가 나오도록 만든 오늘의 일일퀘스트 (DB에 저장되지 않은 상태)
+     */
+    private List<Quest> buildTodayDailyQuests(UUID childId) {
+        LocalDate today = LocalDate.now(KST);
+        LocalDateTime endDate = today.atTime(23, 59, 59);
+        LocalDateTime created = today.atStartOfDay();
+
+        List<DailyQuestTemplateRegistry.Template> templates = dailyQuestTemplateRegistry.templates();
+        List<Quest> dailyQuests = new ArrayList<>(templates.size());
+        for (DailyQuestTemplateRegistry.Template template : templates) {
+            UUID questId = UUID.nameUUIDFromBytes(
+                    ("DAILY:" + childId + ":" + today + ":" + template.key()).getBytes(StandardCharsets.UTF_8));
+            dailyQuests.add(Quest.createDailyQuest(questId, childId, template.name(), template.description(),
+                    template.reward(), endDate, created));
+        }
+        return dailyQuests;
+    }
+
     /**
      * 새로 가입한 아이에게 일일퀘스트 생성 (회원가입 시 호출)
      * 순환 참조 해결을 위해 로직을 QuestService로 이동
      */
     @Transactional
     public void createDailyQuestsForNewChild(UUID childId) {
+        if (isLazyDailyMode()) {
+            return; // lazy 모드에서는 조회 시점에 템플릿으로 보여주므로 미리 만들 필요 없음
+        }
         List<Quest> newQuests = createDailyQuestsForChild(childId);
         questRepository.saveAll(newQuests);
+        questResponseCache.evictAfterCommit(childId, Quest.QuestType.DAILY);
     }
 
     /**
-     * 특정 아이에게 일일퀘스트 5개 생성 (DailyQuestScheduler에서 이동)
+     * 특정 아이에게 일일퀘스트 생성 (템플릿 레지스트리에서 복사)
      */
     private List<Quest> createDailyQuestsForChild(UUID childId) {
-        List<Quest> dailyQuests = new ArrayList<>();
-
-        // 🎯 정적 팩토리 메서드 사용
-        dailyQuests.add(Quest.createDailyQuest(childId, "양치하기", "밥 먹었으면 포포와 양치하자!", 100));
-        dailyQuests.add(Quest.createDailyQuest(childId, "장난감 정리하기", "가지고 온 장난감은 스스로 치워볼까?", 100));
-        dailyQuests.add(Quest.createDailyQuest(childId, "이불 개기", "일어나면 이불을 예쁘게 개자!", 100));
-        dailyQuests.add(Quest.createDailyQuest(childId, "식탁 정리 도와주기", "먹고 난 그릇, 포포랑 정리해보자!", 100));
-        dailyQuests.add(Quest.createDailyQuest(childId, "하루 이야기 나누기", "오늘 어땠는지 부모님과 얘기해보자!", 100));
+        LocalDate today = LocalDate.now(KST);
+        return dailyQuestTemplateRegistry.createDailyQuests(childId, today.atTime(23, 59, 59), LocalDateTime.now(KST));
+    }
 
-        return dailyQuests;
+    // 일일퀘스트 템플릿 다시 읽기 (배포 없이 템플릿 변경 반영)
+    public int reloadDailyQuestTemplates() {
+        return dailyQuestTemplateRegistry.reload();
     }
 
     // 부모 퀘스트 생성 메서드
@@ -74,19 +146,80 @@ public class QuestService {
 
         // 저장
         Quest savedQuest = questRepository.save(parentQuest);
+        questResponseCache.evictAfterCommit(savedQuest.getChildId(), Quest.QuestType.PARENT);
+        parentQuestDeadlineQueue.registerAfterCommit(savedQuest);
+        publishQuestChanged(List.of(savedQuest));
 
         // DTO로 변환해서 반환
         return convertToDto(savedQuest);
     }
 
+    // 부모 퀘스트 여러 개 생성 (한 트랜잭션, INSERT는 hibernate batch로 묶임)
+    @Transactional
+    public List<QuestResponse> createParentQuests(BulkParentQuestRequest request) {
+        List<ParentQuestRequest> specs = request.getQuests();
+        if (specs == null || specs.isEmpty()) {
+            throw new IllegalArgumentException("생성할 퀘스트가 없습니다.");
+        }
+        List<UUID> childIds = request.getChildIds();
+        boolean assignToChildren = childIds != null && !childIds.isEmpty();
+        int total = assignToChildren ? specs.size() * childIds.size() : specs.size();
+        if (total > bulkMaxSize) {
+            throw new IllegalArgumentException("한 번에 생성할 수 있는 퀘스트는 최대 " + bulkMaxSize + "개입니다. (요청: " + total + "개)");
+        }
+
+        // 저장 전에 전부 검증 (하나라도 잘못되면 아무것도 만들지 않음)
+        List<Quest> parentQuests = new ArrayList<>(total);
+        for (ParentQuestRequest spec : specs) {
+            LocalDateTime endDateTime = parseEndDate(spec);
+            if (spec.getReward() == null) {
+                throw new IllegalArgumentException("보상이 없습니다: " + spec.getName());
+            }
+            List<UUID> targets = assignToChildren ? childIds : List.of(requireChildId(spec));
+            for (UUID childId : targets) {
+                parentQuests.add(Quest.createParentQuest(
+                        childId,
+                        spec.getName(),
+                        spec.getDescription(),
+                        spec.getReward(),
+                        endDateTime,
+                        spec.getImageUrl()
+                ));
+            }
+        }
+
+        List<Quest> savedQuests = questRepository.saveAll(parentQuests);
+        questResponseCache.evictAfterCommit(
+                savedQuests.stream().map(Quest::getChildId).toList(), Quest.QuestType.PARENT);
+        savedQuests.forEach(parentQuestDeadlineQueue::registerAfterCommit);
+        publishQuestChanged(savedQuests);
+
+        return savedQuests.stream()
+                .map(this::convertToDto)
+                .collect(Collectors.toList());
+    }
+
+    private LocalDateTime parseEndDate(ParentQuestRequest spec) {
+        try {
+            return LocalDateTime.parse(spec.getEndDate());
+        } catch (DateTimeParseException | NullPointerException e) {
+            throw new IllegalArgumentException("유효하지 않은 마감일입니다: " + spec.getEndDate());
+        }
+    }
+
+    private UUID requireChildId(ParentQuestRequest spec) {
+        if (spec.getChildId() == null) {
+            throw new IllegalArgumentException("아이 ID가 없습니다: " + spec.getName());
+        }
+        return spec.getChildId();
+    }
+
     //상태 변경 메서드
+    // 엔티티를 읽고 dirty checking으로 덮어쓰는 대신, "현재 상태 = 바로 이전 상태"일 때만 바꾸는 조건부 UPDATE 한 번으로 처리
+    // → 아이 완료 요청과 부모 승인 요청이 동시에 와도 규칙에 맞는 한 쪽만 반영됨
     @Transactional
     public void changeQuestState(QuestStateChangeRequest request){
-        //1. 퀘스트 조회 및 검증(받은 퀘스트Id에 해당하는 퀘스트가 디비에 존재하는지?)
-        Quest quest = questRepository.findById(request.getQuestId())
-                .orElseThrow(() -> new IllegalArgumentException("퀘스트를 찾을 수 없습니다."));
-
-        //2. 요청된 상태 검증
+        //1. 요청된 상태 검증
         QuestState newState;
         try{
             newState = QuestState.valueOf(request.getState().toUpperCase());
@@ -94,42 +227,84 @@ public class QuestService {
             throw new IllegalArgumentException("유효하지 않은 상태입니다" + request.getState());
         }
 
-        //3. 상태 변경 규칙 검증
-        QuestState currentState = quest.getState();
-        validateStateTransition(currentState, newState);
+        //2. 목표 상태로 올 수 있는 이전 상태가 없으면(PENDING_ACCEPT, EXPIRED) 조회할 필요도 없음
+        QuestState requiredState = requiredPreviousState(newState);
+
+        //3. 조건부 UPDATE (성공하면 끝 - 조회 없음)
+        if (requiredState != null) {
+            Optional<Quest> transitioned =
+                    questRepository.transitionState(request.getQuestId(), requiredState.name(), newState.name());
+            if (transitioned.isPresent()) {
+                questResponseCache.evictAfterCommit(transitioned.get().getChildId(), transitioned.get().getType());
+                publishQuestChanged(List.of(transitioned.get()));
+                return;
+            }
+        }
+
+        //4. 실패한 경우에만 조회해서 원인 구분 (퀘스트 없음 / 상태 변경 규칙 위반)
+        //   lazy 모드에서 아직 저장되지 않은 오늘의 일일퀘스트면 이때 처음 저장
+        Optional<Quest> stored = questRepository.findById(request.getQuestId());
+        Quest quest = stored
+                .or(() -> findUnsavedDailyQuest(request.getChildId(), request.getQuestId()))
+                .orElseThrow(() -> new IllegalArgumentException("퀘스트를 찾을 수 없습니다."));
+        validateStateTransition(quest.getState(), newState);
 
+        if (stored.isPresent()) {
+            // 검증은 통과했는데 UPDATE가 실패 → 그 사이 다른 요청이 상태를 먼저 바꿈
+            throw new IllegalArgumentException(
+                    String.format("퀘스트 상태가 이미 변경되었습니다. (현재 상태: %s)", quest.getState().name())
+            );
+        }
+
+        // 템플릿 일일퀘스트의 첫 상태 변경 → 바뀐 상태로 INSERT
+        // 같은 퀘스트에 동시 요청이 와서 다른 쪽이 먼저 저장했으면, 저장된 행에 조건부 UPDATE를 한 번 더 시도
         quest.changeState(newState);
+        if (!questRepository.insertIfAbsent(quest)) {
+            quest = questRepository.transitionState(request.getQuestId(), requiredState.name(), newState.name())
+                    .orElseThrow(() -> new IllegalArgumentException("퀘스트 상태가 이미 변경되었습니다."));
+        }
+        questResponseCache.evictAfterCommit(quest.getChildId(), quest.getType());
+        publishQuestChanged(List.of(quest));
+    }
+
+    // 구독자(SSE)에게 바뀐 퀘스트 알림 - 아이별로 묶어서 발행, 실제 전송은 커밋 후
+    private void publishQuestChanged(Collection<Quest> quests) {
+        quests.stream()
+                .collect(Collectors.groupingBy(Quest::getChildId))
+                .forEach((childId, changed) -> eventPublisher.publishEvent(
+                        new QuestChangedEvent(childId, changed.stream().map(this::convertToDto).toList())));
+    }
+
+    private Optional<Quest> findUnsavedDailyQuest(UUID childId, UUID questId) {
+        if (!isLazyDailyMode() || childId == null) {
+            return Optional.empty();
+        }
+        return buildTodayDailyQuests(childId).stream()
+                .filter(quest -> quest.getQuestId().equals(questId))
+                .findFirst();
     }
 
     private void validateStateTransition(QuestState current, QuestState target){
-        boolean isValidTransition = switch (current){
-            case PENDING_ACCEPT -> target == QuestState.IN_PROGRESS;
-            case IN_PROGRESS -> target == QuestState.PENDING_APPROVAL;
-            case PENDING_APPROVAL -> target == QuestState.APPROVED;
-            case APPROVED -> target == QuestState.COMPLETED;
-            case COMPLETED, EXPIRED -> false; //최종 상태에선 변경 불가
-        };
-        if(!isValidTransition){
+        if(current != requiredPreviousState(target)){
             throw new IllegalArgumentException(
                     String.format("/%s에서 %s로 변경할 수 없습니다.", current.name(), target.name())
             );
         }
     }
 
+    // 목표 상태로 바뀔 수 있는 유일한 이전 상태 (COMPLETED, EXPIRED는 최종 상태라 다음 상태가 없음)
+    private QuestState requiredPreviousState(QuestState target){
+        return switch (target){
+            case IN_PROGRESS -> QuestState.PENDING_ACCEPT;
+            case PENDING_APPROVAL -> QuestState.IN_PROGRESS;
+            case APPROVED -> QuestState.PENDING_APPROVAL;
+            case COMPLETED -> QuestState.APPROVED;
+            case PENDING_ACCEPT, EXPIRED -> null; //어떤 상태에서도 이 상태로 변경 불가
+        };
+    }
+
     //Entity를 Dto로 변환
     private QuestResponse convertToDto(Quest quest){
-        return QuestResponse.builder()
-                .questId(quest.getQuestId())
-                .childId(quest.getChildId())
-                .type(quest.getType().name().toLowerCase())
-                .name(quest.getName())
-                .description(quest.getDescription())
-                .state(quest.getState().name())
-                .endDate(quest.getEndDate())
-                .created(quest.getCreated())
-                .isStatic(quest.isStatic())
-                .reward(quest.getReward())
-                .imageUrl(quest.getImageUrl())
-                .build();
-    }
-}
\ No newline at end of file
+        return QuestResponse.from(quest);
+    }
+}
@@ -0,0 +1,12 @@
+package com.popoworld.backend.quest.subscription;
+
+import com.popoworld.backend.quest.dto.QuestResponse;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 아이 한 명의 퀘스트가 바뀌었을 때 발행 (커밋된 뒤 구독자에게 바뀐 퀘스트만 전송)
+ */
+public record QuestChangedEvent(UUID childId, List<QuestResponse> quests) {
+}
@@ -0,0 +1,138 @@
+package com.popoworld.backend.quest.subscription;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 아이별 퀘스트 변경 구독 (SSE)
+ * - 연결은 아이 ID별로 들고 있다가 QuestChangedEvent가 커밋되면 바뀐 퀘스트만 보냄 → GET /api/quest 폴링 대체
+ * - 대기 중인 연결은 서블릿 async라 스레드를 잡지 않음, 전송만 fan-out 스레드에서 처리
+ * - fan-out 스레드는 아이 ID 해시로 고정 → 같은 아이의 이벤트는 순서대로 전송
+ * - 이 서버에 연결된 구독자에게만 전송됨 (여러 서버면 로드밸런서에서 아이 ID 기준 sticky 라우팅 필요)
+ */
+@Component
+@Slf4j
+public class QuestSubscriptionRegistry {
+
+    private final Map<UUID, Set<SseEmitter>> emitters = new ConcurrentHashMap<>();
+    private final AtomicInteger connectionCount = new AtomicInteger();
+
+    @Value("${quest.sse.timeout-ms:1800000}")
+    private long timeoutMs; // 만료되면 클라이언트(EventSource)가 자동 재연결
+
+    @Value("${quest.sse.max-connections:200000}")
+    private int maxConnections;
+
+    @Value("${quest.sse.fanout-threads:4}")
+    private int fanoutThreads;
+
+    private ExecutorService[] fanoutExecutors;
+
+    @PostConstruct
+    public void initFanoutExecutors() {
+        fanoutExecutors = new ExecutorService[fanoutThreads];
+        for (int i = 0; i < fanoutThreads; i++) {
+            fanoutExecutors[i] = Executors.newSingleThreadExecutor(new CustomizableThreadFactory("quest-sse-" + i + "-"));
+        }
+    }
+
+    public SseEmitter subscribe(UUID childId) {
+        if (connectionCount.incrementAndGet() > maxConnections) {
+            connectionCount.decrementAndGet();
+            throw new IllegalStateException("구독 연결 수가 최대치입니다. (" + maxConnections + ")");
+        }
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        // remove()와 같은 키 잠금 안에서 추가 (마지막 연결이 빠지면서 Set이 맵에서 지워지는 순간과 겹치지 않도록)
+        emitters.compute(childId, (key, targets) -> {
+            if (targets == null) {
+                targets = ConcurrentHashMap.newKeySet();
+            }
+            targets.add(emitter);
+            return targets;
+        });
+
+        emitter.onCompletion(() -> remove(childId, emitter));
+        emitter.onTimeout(() -> remove(childId, emitter));
+        emitter.onError(e -> remove(childId, emitter));
+
+        // 연결 직후 한 번 보내서 프록시가 응답 헤더를 바로 내보내도록 함
+        send(childId, emitter, SseEmitter.event().name("connected").data(childId.toString()));
+        return emitter;
+    }
+
+    // 트랜잭션이 커밋된 뒤에만 전송 (롤백된 변경은 보내지 않음), 트랜잭션 밖에서 발행되면 바로 전송
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onQuestChanged(QuestChangedEvent event) {
+        Set<SseEmitter> targets = emitters.get(event.childId());
+        if (targets == null || targets.isEmpty()) {
+            return;
+        }
+        executorFor(event.childId()).execute(() -> {
+            for (SseEmitter emitter : targets) {
+                send(event.childId(), emitter,
+                        SseEmitter.event().name("quest").data(event.quests(), MediaType.APPLICATION_JSON));
+            }
+        });
+    }
+
+    // 프록시/로드밸런서의 idle timeout으로 끊기지 않도록 주석 이벤트 전송 (끊긴 연결도 이때 정리됨)
+    @Scheduled(fixedRateString = "${quest.sse.heartbeat-interval-ms:25000}")
+    public void heartbeat() {
+        emitters.forEach((childId, targets) -> executorFor(childId).execute(() -> {
+            for (SseEmitter emitter : targets) {
+                send(childId, emitter, SseEmitter.event().comment("heartbeat"));
+            }
+        }));
+    }
+
+    public int connectionCount() {
+        return connectionCount.get();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (ExecutorService executor : fanoutExecutors) {
+            executor.shutdown();
+        }
+        emitters.values().forEach(targets -> targets.forEach(SseEmitter::complete));
+    }
+
+    private void send(UUID childId, SseEmitter emitter, SseEmitter.SseEventBuilder event) {
+        try {
+            emitter.send(event);
+        } catch (IOException | IllegalStateException e) {
+            // 클라이언트가 끊었거나 이미 완료된 연결
+            remove(childId, emitter);
+        }
+    }
+
+    private void remove(UUID childId, SseEmitter emitter) {
+        emitters.computeIfPresent(childId, (key, targets) -> {
+            if (targets.remove(emitter)) {
+                connectionCount.decrementAndGet();
+            }
+            return targets.isEmpty() ? null : targets;
+        });
+    }
+
+    private ExecutorService executorFor(UUID childId) {
+        return fanoutExecutors[Math.floorMod(childId.hashCode(), fanoutExecutors.length)];
+    }
+}
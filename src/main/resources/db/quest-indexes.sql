@@ -0,0 +1,6 @@
+-- 부모퀘스트 만료 스케줄러용 부분 인덱스
+-- 아직 끝나지 않은 부모퀘스트만 담기 때문에 완료/만료된 행이 쌓여도 크기가 커지지 않음
+-- QuestRepository.updateExpiredParentQuests 의 WHERE절과 조건을 똑같이 유지해야 함
+CREATE INDEX IF NOT EXISTS idx_quest_open_parent_end_date
+    ON quest (end_date)
+    WHERE type = 'PARENT' AND state NOT IN ('COMPLETED', 'EXPIRED');
@@ -0,0 +1,15 @@
+-- quest.type 을 ordinal(smallint) → 이름(varchar)으로 변환 (QuestType 상수 순서가 바뀌어도 데이터/인덱스 의미가 바뀌지 않도록)
+-- 이미 변환된 DB나 새 DB(ddl-auto가 varchar로 생성)에서는 아무것도 하지 않음
+-- 옛 부분 인덱스(type = 0)는 여기서 지우고 quest-indexes.sql 에서 type = 'PARENT' 로 다시 생성
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM information_schema.columns
+               WHERE table_schema = current_schema() AND table_name = 'quest'
+                 AND column_name = 'type' AND data_type = 'smallint') THEN
+        DROP INDEX IF EXISTS idx_quest_open_parent_end_date;
+        ALTER TABLE quest DROP CONSTRAINT IF EXISTS quest_type_check;
+        ALTER TABLE quest ALTER COLUMN type TYPE varchar(255)
+            USING CASE type WHEN 0 THEN 'PARENT' WHEN 1 THEN 'DAILY' END;
+        ALTER TABLE quest ADD CONSTRAINT quest_type_check CHECK (type IN ('PARENT', 'DAILY'));
+    END IF;
+END $$;
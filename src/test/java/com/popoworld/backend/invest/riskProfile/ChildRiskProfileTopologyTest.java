@@ -0,0 +1,101 @@
+package com.popoworld.backend.invest.riskProfile;
+
+import com.popoworld.backend.invest.entity.InvestHistory;
+import com.popoworld.backend.invest.investHistoryKafka.InvestHistoryKafkaConfig;
+import com.popoworld.backend.invest.investHistoryKafka.InvestHistorySerializer;
+import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.apache.kafka.streams.KafkaStreams;
+import org.apache.kafka.streams.KeyValue;
+import org.apache.kafka.streams.StoreQueryParameters;
+import org.apache.kafka.streams.StreamsBuilder;
+import org.apache.kafka.streams.StreamsConfig;
+import org.apache.kafka.streams.state.QueryableStoreTypes;
+import org.apache.kafka.streams.state.ReadOnlyWindowStore;
+import org.apache.kafka.streams.state.WindowStoreIterator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Properties;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+@EmbeddedKafka(partitions = 1, topics = InvestHistoryKafkaConfig.TOPIC)
+class ChildRiskProfileTopologyTest {
+
+	@TempDir
+	Path stateDir;
+
+	@Test
+	void aggregatesTurnsPerChildIntoWindowedProfile(EmbeddedKafkaBroker broker) {
+		StreamsBuilder builder = new StreamsBuilder();
+		ChildRiskProfileTopology.build(builder, Duration.ofMinutes(60), Duration.ofMinutes(5), Duration.ofHours(24));
+
+		Properties props = new Properties();
+		props.put(StreamsConfig.APPLICATION_ID_CONFIG, "risk-profile-test-" + UUID.randomUUID());
+		props.put(StreamsConfig.BOOTSTRAP_SERVERS_CONFIG, broker.getBrokersAsString());
+		props.put(StreamsConfig.STATE_DIR_CONFIG, stateDir.toString());
+		props.put(StreamsConfig.COMMIT_INTERVAL_MS_CONFIG, 100);
+		props.put(StreamsConfig.STATESTORE_CACHE_MAX_BYTES_CONFIG, 0);
+		props.put("auto.offset.reset", "earliest");
+
+		UUID childId = UUID.randomUUID();
+		UUID otherChildId = UUID.randomUUID();
+		UUID sessionId = UUID.randomUUID();
+
+		try (KafkaStreams streams = new KafkaStreams(builder.build(), props)) {
+			streams.start();
+
+			try (KafkaProducer<String, InvestHistory> producer = new KafkaProducer<>(Map.of(
+					ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, broker.getBrokersAsString(),
+					ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class,
+					ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, InvestHistorySerializer.class))) {
+				producer.send(record(sessionId, childId, 1, "HIGH", "BUY", 3));
+				producer.send(record(sessionId, childId, 2, "HIGH", "BUY", 2));
+				producer.send(record(sessionId, childId, 3, "LOW", "SELL", 5));
+				producer.send(record(UUID.randomUUID(), otherChildId, 1, "LOW", "BUY", 1));
+				producer.flush();
+			}
+
+			AtomicReference<ChildRiskProfile> profile = new AtomicReference<>();
+			await().atMost(Duration.ofSeconds(60)).untilAsserted(() -> {
+				assertThat(streams.state()).isEqualTo(KafkaStreams.State.RUNNING);
+				ReadOnlyWindowStore<String, ChildRiskProfile> store = streams.store(StoreQueryParameters.fromNameAndType(
+						ChildRiskProfileTopology.STORE, QueryableStoreTypes.windowStore()));
+				try (WindowStoreIterator<ChildRiskProfile> windows = store.fetch(
+						childId.toString(), Instant.now().minus(Duration.ofHours(2)), Instant.now())) {
+					assertThat(windows.hasNext()).isTrue();
+					KeyValue<Long, ChildRiskProfile> window = windows.next();
+					assertThat(window.value.getTurnCount()).isEqualTo(3);
+					profile.set(window.value);
+				}
+			});
+
+			assertThat(profile.get().getBuyCount()).isEqualTo(2);
+			assertThat(profile.get().getSellCount()).isEqualTo(1);
+			assertThat(profile.get().getSharesTraded()).isEqualTo(10);
+			assertThat(profile.get().preferredRiskLevel()).isEqualTo("HIGH");
+			assertThat(profile.get().tradesPerTurn()).isEqualTo(1.0);
+		}
+	}
+
+	private ProducerRecord<String, InvestHistory> record(UUID sessionId, UUID childId, int turn, String riskLevel,
+			String transactionType, int shares) {
+		LocalDateTime now = LocalDateTime.now();
+		InvestHistory history = new InvestHistory(UUID.randomUUID(), sessionId, "1", childId, turn, riskLevel,
+				1000, 100, 110, 100, shares, 0, transactionType, 1, 0, now, now);
+		return new ProducerRecord<>(InvestHistoryKafkaConfig.TOPIC, sessionId.toString(), history);
+	}
+}
@@ -0,0 +1,174 @@
+package com.popoworld.backend.invest.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class InvestSessionWriterTest {
+
+	@TempDir
+	Path walDir;
+
+	private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+	private final List<UUID> inserted = new CopyOnWriteArrayList<>();
+	private final Set<UUID> violating = ConcurrentHashMap.newKeySet();
+	private final AtomicBoolean databaseDown = new AtomicBoolean();
+	private final AtomicInteger insertCalls = new AtomicInteger();
+	private JdbcTemplate jdbcTemplate;
+
+	@BeforeEach
+	@SuppressWarnings("unchecked")
+	void setUp() {
+		jdbcTemplate = mock(JdbcTemplate.class);
+		when(jdbcTemplate.batchUpdate(anyString(), anyCollection(), anyInt(), any(ParameterizedPreparedStatementSetter.class)))
+				.thenAnswer(invocation -> {
+					insertCalls.incrementAndGet();
+					Collection<InvestSessionWriter.NewSession> sessions = invocation.getArgument(1);
+					if (databaseDown.get()) {
+						throw new DataAccessResourceFailureException("connection refused");
+					}
+					if (sessions.stream().anyMatch(session -> violating.contains(session.sessionId()))) {
+						throw new DataIntegrityViolationException("violates foreign key constraint");
+					}
+					sessions.forEach(session -> inserted.add(session.sessionId()));
+					return new int[0][];
+				});
+	}
+
+	@Test
+	void failedFlushKeepsSessionsForNextFlushWithoutLooping() throws Exception {
+		InvestSessionWriter writer = writer(10);
+		InvestSessionWriter.NewSession first = session();
+		InvestSessionWriter.NewSession second = session();
+		writer.create(first);
+		writer.create(second);
+
+		databaseDown.set(true);
+		assertTimeoutPreemptively(Duration.ofSeconds(5), writer::flush);
+		assertThat(insertCalls).hasValue(1);
+		assertThat(inserted).isEmpty();
+
+		databaseDown.set(false);
+		writer.flush();
+		assertThat(inserted).containsExactlyInAnyOrder(first.sessionId(), second.sessionId());
+	}
+
+	@Test
+	void givesUpOnSessionAfterMaxAttempts() throws Exception {
+		InvestSessionWriter writer = writer(3);
+		InvestSessionWriter.NewSession session = session();
+		writer.create(session);
+
+		databaseDown.set(true);
+		for (int i = 0; i < 3; i++) {
+			writer.flush();
+		}
+		assertThat(insertCalls).hasValue(3);
+
+		databaseDown.set(false);
+		writer.flush();
+		writer.flushIfPending(session.sessionId());
+		assertThat(insertCalls).hasValue(3);
+		assertThat(inserted).isEmpty();
+	}
+
+	@Test
+	void dropsOnlyRowsViolatingConstraints() throws Exception {
+		InvestSessionWriter writer = writer(10);
+		InvestSessionWriter.NewSession first = session();
+		InvestSessionWriter.NewSession broken = session();
+		InvestSessionWriter.NewSession third = session();
+		violating.add(broken.sessionId());
+		writer.create(first);
+		writer.create(broken);
+		writer.create(third);
+
+		writer.flush();
+		assertThat(inserted).containsExactlyInAnyOrder(first.sessionId(), third.sessionId());
+
+		int calls = insertCalls.get();
+		writer.flush();
+		assertThat(insertCalls).hasValue(calls);
+	}
+
+	@Test
+	void flushIfPendingStoresSessionBeforeScheduledFlush() throws Exception {
+		InvestSessionWriter writer = writer(10);
+		InvestSessionWriter.NewSession session = session();
+		writer.create(session);
+		assertThat(inserted).isEmpty();
+
+		// clearChapter 전에 호출되는 경로
+		writer.flushIfPending(session.sessionId());
+		assertThat(inserted).containsExactly(session.sessionId());
+
+		writer.flushIfPending(session.sessionId());
+		assertThat(insertCalls).hasValue(1);
+	}
+
+	@Test
+	void usesSynchronousInsertWhileDatabaseIsFailing() throws Exception {
+		InvestSessionWriter writer = writer(10);
+		writer.create(session());
+		databaseDown.set(true);
+		writer.flush();
+
+		databaseDown.set(false);
+		InvestSessionWriter.NewSession session = session();
+		writer.create(session);
+		assertThat(inserted).contains(session.sessionId());
+	}
+
+	@Test
+	void recoversUnstoredSessionsFromWalAfterCrash() throws Exception {
+		InvestSessionWriter crashed = writer(10);
+		InvestSessionWriter.NewSession first = session();
+		InvestSessionWriter.NewSession second = session();
+		crashed.create(first);
+		crashed.create(second);
+		// flush / shutdown 없이 종료
+
+		InvestSessionWriter restarted = writer(10);
+		restarted.flush();
+		assertThat(inserted).containsExactlyInAnyOrder(first.sessionId(), second.sessionId());
+	}
+
+	private InvestSessionWriter writer(int maxAttempts) throws Exception {
+		InvestSessionWriter writer = new InvestSessionWriter(jdbcTemplate, objectMapper, true, 100, 10, maxAttempts,
+				walDir.toString(), false);
+		writer.recover();
+		return writer;
+	}
+
+	private InvestSessionWriter.NewSession session() {
+		return new InvestSessionWriter.NewSession(UUID.randomUUID(), UUID.randomUUID(), "1", LocalDateTime.now(),
+				UUID.randomUUID());
+	}
+}
@@ -0,0 +1,148 @@
+package com.popoworld.backend.quest.scheduler;
+
+import com.popoworld.backend.quest.cache.QuestResponseCache;
+import com.popoworld.backend.quest.entity.Quest;
+import com.popoworld.backend.quest.entity.QuestRolloverCheckpoint;
+import com.popoworld.backend.quest.repository.QuestRepository;
+import com.popoworld.backend.quest.repository.QuestRolloverCheckpointRepository;
+import com.popoworld.backend.quest.repository.QuestRolloverLeaseRepository;
+import com.popoworld.backend.quest.service.DailyQuestTemplateRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class DailyQuestSchedulerTest {
+
+	private static final int PARTITIONS = 4;
+
+	private final Map<String, QuestRolloverCheckpoint> checkpoints = new ConcurrentHashMap<>();
+	private final AtomicBoolean failNextSave = new AtomicBoolean();
+	private QuestRepository questRepository;
+	private QuestRolloverCheckpointRepository checkpointRepository;
+	private DailyQuestScheduler scheduler;
+
+	@BeforeEach
+	@SuppressWarnings("unchecked")
+	void setUp() {
+		questRepository = mock(QuestRepository.class);
+		when(questRepository.saveAll(anyCollection())).thenAnswer(invocation -> {
+			if (failNextSave.compareAndSet(true, false)) {
+				throw new QueryTimeoutException("timeout");
+			}
+			return invocation.getArgument(0);
+		});
+
+		checkpointRepository = mock(QuestRolloverCheckpointRepository.class);
+		when(checkpointRepository.findById(anyString()))
+				.thenAnswer(invocation -> Optional.ofNullable(checkpoints.get((String) invocation.getArgument(0))));
+		when(checkpointRepository.save(any(QuestRolloverCheckpoint.class))).thenAnswer(invocation -> {
+			QuestRolloverCheckpoint checkpoint = invocation.getArgument(0);
+			checkpoints.put(checkpoint.getJobKey(), checkpoint);
+			return checkpoint;
+		});
+		when(checkpointRepository.findAllById(any())).thenAnswer(invocation -> {
+			Iterable<String> keys = invocation.getArgument(0);
+			List<QuestRolloverCheckpoint> found = new ArrayList<>();
+			keys.forEach(key -> Optional.ofNullable(checkpoints.get(key)).ifPresent(found::add));
+			return found;
+		});
+
+		QuestRolloverLeaseRepository leaseRepository = mock(QuestRolloverLeaseRepository.class);
+		when(leaseRepository.tryAcquire(anyString(), anyString(), anyInt())).thenReturn(1);
+		when(leaseRepository.renew(anyString(), anyString(), anyInt())).thenReturn(1);
+
+		TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+		when(transactionTemplate.execute(any()))
+				.thenAnswer(invocation -> ((TransactionCallback<Object>) invocation.getArgument(0)).doInTransaction(null));
+		doAnswer(invocation -> {
+			((Consumer<TransactionStatus>) invocation.getArgument(0)).accept(null);
+			return null;
+		}).when(transactionTemplate).executeWithoutResult(any());
+
+		DailyQuestTemplateRegistry templateRegistry = mock(DailyQuestTemplateRegistry.class);
+		when(templateRegistry.createDailyQuests(any(UUID.class), any(LocalDateTime.class), any(LocalDateTime.class)))
+				.thenAnswer(invocation -> List.of(Quest.createDailyQuest(UUID.randomUUID(), invocation.getArgument(0),
+						"quest", "description", 10, invocation.getArgument(1), invocation.getArgument(2))));
+
+		scheduler = new DailyQuestScheduler(questRepository, checkpointRepository, leaseRepository, transactionTemplate,
+				templateRegistry, mock(QuestResponseCache.class));
+		ReflectionTestUtils.setField(scheduler, "dailyMode", "materialized");
+		ReflectionTestUtils.setField(scheduler, "chunkSize", 1000);
+		ReflectionTestUtils.setField(scheduler, "partitions", PARTITIONS);
+		ReflectionTestUtils.setField(scheduler, "workerThreads", 1);
+		ReflectionTestUtils.setField(scheduler, "leaseSeconds", 300);
+		scheduler.initRolloverExecutor();
+	}
+
+	@AfterEach
+	void tearDown() {
+		scheduler.shutdownRolloverExecutor();
+	}
+
+	@Test
+	void catchUpFinishesPartitionLeftUnfinishedByMidnightRun() {
+		String dayKey = "DAILY_ROLLOVER:" + LocalDate.now(ZoneId.of("Asia/Seoul"));
+
+		// 자정 실행 중 한 파티션의 청크가 실패
+		failNextSave.set(true);
+		scheduler.dailyMaintenance();
+		assertThat(checkpoints.get(dayKey)).isNull();
+		assertThat(unfinishedPartitions(dayKey)).isNotEmpty();
+
+		// 같은 날 재시도에서 남은 파티션만 이어서 처리하고 완료 표시
+		scheduler.catchUpDailyRollover();
+		assertThat(unfinishedPartitions(dayKey)).isEmpty();
+		assertThat(checkpoints.get(dayKey).isCompleted()).isTrue();
+		verify(questRepository).deleteByTypeAndCreatedBefore(any(Quest.QuestType.class), any(LocalDateTime.class));
+	}
+
+	@Test
+	void catchUpStopsOnceDayIsCompleted() {
+		scheduler.catchUpDailyRollover();
+		verify(questRepository, atLeastOnce()).saveAll(anyCollection());
+
+		clearInvocations(questRepository, checkpointRepository);
+		scheduler.catchUpDailyRollover();
+
+		verify(checkpointRepository, never()).findById(anyString());
+		verify(questRepository, never()).saveAll(anyCollection());
+	}
+
+	private List<String> unfinishedPartitions(String dayKey) {
+		return IntStream.range(0, PARTITIONS)
+				.mapToObj(partition -> dayKey + "#p" + partition)
+				.filter(key -> checkpoints.get(key) == null || !checkpoints.get(key).isCompleted())
+				.toList();
+	}
+}
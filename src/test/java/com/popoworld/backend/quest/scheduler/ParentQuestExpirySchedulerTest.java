@@ -0,0 +1,96 @@
+package com.popoworld.backend.quest.scheduler;
+
+import com.popoworld.backend.quest.cache.QuestResponseCache;
+import com.popoworld.backend.quest.entity.Quest;
+import com.popoworld.backend.quest.enums.QuestState;
+import com.popoworld.backend.quest.repository.QuestRepository;
+import com.popoworld.backend.quest.service.ParentQuestDeadlineQueue;
+import com.popoworld.backend.quest.subscription.QuestChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ParentQuestExpirySchedulerTest {
+
+	private static final ZoneId KST = ZoneId.of("Asia/Seoul");
+
+	private QuestRepository questRepository;
+	private QuestResponseCache questResponseCache;
+	private ApplicationEventPublisher eventPublisher;
+	private ParentQuestDeadlineQueue deadlineQueue;
+	private ParentQuestExpiryScheduler scheduler;
+
+	@BeforeEach
+	@SuppressWarnings("unchecked")
+	void setUp() {
+		questRepository = mock(QuestRepository.class);
+		questResponseCache = mock(QuestResponseCache.class);
+		eventPublisher = mock(ApplicationEventPublisher.class);
+		TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+		when(transactionTemplate.execute(any()))
+				.thenAnswer(invocation -> ((TransactionCallback<Object>) invocation.getArgument(0)).doInTransaction(null));
+
+		deadlineQueue = new ParentQuestDeadlineQueue(questRepository);
+		ReflectionTestUtils.setField(deadlineQueue, "horizonMinutes", 60L);
+		scheduler = new ParentQuestExpiryScheduler(deadlineQueue, questRepository, questResponseCache,
+				transactionTemplate, eventPublisher);
+		ReflectionTestUtils.setField(scheduler, "batchSize", 500);
+	}
+
+	@Test
+	void expiresDueQuestsAndNotifiesChild() {
+		Quest quest = Quest.createParentQuest(UUID.randomUUID(), "quest", "description", 100,
+				LocalDateTime.now(KST).minusMinutes(1), null);
+		deadlineQueue.registerAfterCommit(quest);
+		quest.changeState(QuestState.EXPIRED);
+		when(questRepository.expireParentQuests(List.of(quest.getQuestId()))).thenReturn(List.of(quest));
+
+		scheduler.expireDueParentQuests();
+
+		assertThat(deadlineQueue.size()).isZero();
+		verify(questResponseCache).evictAfterCommit(List.of(quest.getChildId()), Quest.QuestType.PARENT);
+		verify(eventPublisher).publishEvent(any(QuestChangedEvent.class));
+	}
+
+	@Test
+	void requeuesDeadlinesWhenExpiryFails() {
+		Quest quest = Quest.createParentQuest(UUID.randomUUID(), "quest", "description", 100,
+				LocalDateTime.now(KST).minusMinutes(1), null);
+		deadlineQueue.registerAfterCommit(quest);
+		when(questRepository.expireParentQuests(anyCollection())).thenThrow(new QueryTimeoutException("timeout"));
+
+		scheduler.expireDueParentQuests();
+
+		assertThat(deadlineQueue.size()).isEqualTo(1);
+		verify(questResponseCache, never()).evictAfterCommit(anyCollection(), eq(Quest.QuestType.PARENT));
+	}
+
+	@Test
+	void leavesDeadlinesThatAreNotDueYet() {
+		deadlineQueue.registerAfterCommit(Quest.createParentQuest(UUID.randomUUID(), "quest", "description", 100,
+				LocalDateTime.now(KST).plusMinutes(30), null));
+
+		scheduler.expireDueParentQuests();
+
+		assertThat(deadlineQueue.size()).isEqualTo(1);
+		verify(questRepository, never()).expireParentQuests(anyCollection());
+	}
+}
@@ -0,0 +1,112 @@
+package com.popoworld.backend.quest.service;
+
+import com.popoworld.backend.quest.entity.Quest;
+import com.popoworld.backend.quest.repository.QuestRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ParentQuestDeadlineQueueTest {
+
+	private static final ZoneId KST = ZoneId.of("Asia/Seoul");
+
+	private QuestRepository questRepository;
+	private ParentQuestDeadlineQueue queue;
+
+	@BeforeEach
+	void setUp() {
+		questRepository = mock(QuestRepository.class);
+		queue = new ParentQuestDeadlineQueue(questRepository);
+		ReflectionTestUtils.setField(queue, "horizonMinutes", 60L);
+	}
+
+	@AfterEach
+	void tearDown() {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+	}
+
+	@Test
+	void registersQuestOnlyAfterCommit() {
+		Quest quest = parentQuest(LocalDateTime.now(KST).plusMinutes(5));
+
+		TransactionSynchronizationManager.initSynchronization();
+		queue.registerAfterCommit(quest);
+		assertThat(queue.size()).isZero();
+
+		TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+		TransactionSynchronizationManager.clearSynchronization();
+		assertThat(queue.size()).isEqualTo(1);
+
+		assertThat(queue.pollDue(LocalDateTime.now(KST), 10)).isEmpty();
+		assertThat(queue.pollDue(quest.getEndDate().plusSeconds(1), 10))
+				.extracting(ParentQuestDeadlineQueue.Deadline::questId)
+				.containsExactly(quest.getQuestId());
+	}
+
+	@Test
+	void rolledBackQuestIsNeverQueued() {
+		TransactionSynchronizationManager.initSynchronization();
+		queue.registerAfterCommit(parentQuest(LocalDateTime.now(KST).plusMinutes(5)));
+		TransactionSynchronizationManager.getSynchronizations()
+				.forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+		TransactionSynchronizationManager.clearSynchronization();
+
+		assertThat(queue.size()).isZero();
+	}
+
+	@Test
+	void skipsQuestsOutsideHorizon() {
+		queue.registerAfterCommit(parentQuest(LocalDateTime.now(KST).plusHours(3)));
+
+		assertThat(queue.size()).isZero();
+	}
+
+	@Test
+	void pollsOnlyDueDeadlinesInOrder() {
+		LocalDateTime now = LocalDateTime.now(KST);
+		Quest later = parentQuest(now.minusMinutes(1));
+		Quest earlier = parentQuest(now.minusMinutes(10));
+		Quest notYet = parentQuest(now.plusMinutes(10));
+		queue.registerAfterCommit(later);
+		queue.registerAfterCommit(earlier);
+		queue.registerAfterCommit(notYet);
+
+		assertThat(queue.pollDue(now, 1)).extracting(ParentQuestDeadlineQueue.Deadline::questId)
+				.containsExactly(earlier.getQuestId());
+		assertThat(queue.pollDue(now, 10)).extracting(ParentQuestDeadlineQueue.Deadline::questId)
+				.containsExactly(later.getQuestId());
+		assertThat(queue.size()).isEqualTo(1);
+	}
+
+	@Test
+	void reloadDoesNotDuplicateQueuedQuests() {
+		Quest quest = parentQuest(LocalDateTime.now(KST).minusMinutes(1));
+		when(questRepository.findOpenParentQuestsEndingBefore(any())).thenReturn(List.of(quest));
+		queue.registerAfterCommit(quest);
+
+		assertThat(queue.reload()).isZero();
+		assertThat(queue.pollDue(LocalDateTime.now(KST), 10)).hasSize(1);
+
+		// 꺼낸 뒤(만료 실패 등)에는 다시 들어올 수 있음
+		assertThat(queue.reload()).isEqualTo(1);
+	}
+
+	private Quest parentQuest(LocalDateTime endDate) {
+		return Quest.createParentQuest(UUID.randomUUID(), "quest", "description", 100, endDate, null);
+	}
+}
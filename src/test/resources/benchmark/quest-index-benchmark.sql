@@ -0,0 +1,129 @@
+-- quest 인덱스 전/후 비교용 벤치마크 (PostgreSQL)
+-- 운영 테이블은 건드리지 않도록 bench 스키마에 quest 테이블을 복제해서 100만 건을 넣고 측정함
+--
+-- 실행: psql -h <host> -U postgres -d popoworld -f quest-index-benchmark.sql > quest-index-benchmark.out
+-- 확인할 것: 각 쿼리의 실행 계획(Seq Scan → Index Scan / Index Only Scan), Execution Time, Buffers(shared hit/read)
+
+\timing on
+
+DROP SCHEMA IF EXISTS bench CASCADE;
+CREATE SCHEMA bench;
+SET search_path TO bench;
+
+CREATE TABLE quest (
+    quest_id    uuid PRIMARY KEY,
+    child_id    uuid,
+    type        varchar(255) NOT NULL,  -- 'PARENT' / 'DAILY' (@Enumerated STRING)
+    name        varchar(255),
+    description varchar(255),
+    state       varchar(255),
+    end_date    timestamp(6),
+    created     timestamp(6),
+    is_static   boolean NOT NULL,
+    reward      integer,
+    image_url   varchar(255)
+);
+
+-- 아이 2만 명 × 50건 = 100만 건
+--  - 일일퀘스트 5건/일 × 6일치(30건) + 부모퀘스트 20건
+--  - 부모퀘스트는 대부분 완료/만료 상태이고, 진행 중인 것 일부만 마감이 지난 상태
+INSERT INTO quest (quest_id, child_id, type, name, description, state, end_date, created, is_static, reward, image_url)
+SELECT gen_random_uuid(),
+       ('00000000-0000-0000-0000-' || lpad(to_hex(c), 12, '0'))::uuid,
+       CASE WHEN q < 30 THEN 'DAILY' ELSE 'PARENT' END,
+       'quest ' || q,
+       'benchmark quest',
+       CASE
+           WHEN q < 30 THEN 'PENDING_ACCEPT'
+           WHEN q % 10 < 6 THEN 'COMPLETED'
+           WHEN q % 10 < 8 THEN 'EXPIRED'
+           ELSE 'IN_PROGRESS'
+       END,
+       CASE
+           WHEN q < 30 THEN date_trunc('day', now()) - ((q / 5) || ' days')::interval + interval '23:59:59'
+           ELSE now() + (((q % 7) - 1) || ' days')::interval
+       END,
+       CASE
+           WHEN q < 30 THEN date_trunc('day', now()) - ((q / 5) || ' days')::interval
+           ELSE now() - ((q % 30) || ' days')::interval
+       END,
+       q < 30,
+       100,
+       NULL
+FROM generate_series(1, 20000) AS c,
+     generate_series(0, 49) AS q;
+
+ANALYZE quest;
+
+-- ============================================================
+-- 1) 인덱스 적용 전 (PK만 있음)
+-- ============================================================
+
+-- 아이별+타입별 퀘스트 목록 (QuestRepository.findByChildIdAndTypeOrderByCreatedAsc)
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT * FROM quest
+WHERE child_id = '00000000-0000-0000-0000-000000001234' AND type = 'DAILY'
+ORDER BY created;
+
+-- 일일퀘스트 리셋 마무리 (deleteByTypeAndCreatedBefore) - 롤백해서 데이터는 유지
+BEGIN;
+EXPLAIN (ANALYZE, BUFFERS)
+DELETE FROM quest WHERE type = 'DAILY' AND created < date_trunc('day', now()) - interval '5 days';
+ROLLBACK;
+
+-- 부모퀘스트 만료 (updateExpiredParentQuests)
+BEGIN;
+EXPLAIN (ANALYZE, BUFFERS)
+UPDATE quest SET state = 'EXPIRED'
+WHERE type = 'PARENT' AND state NOT IN ('COMPLETED', 'EXPIRED') AND end_date < now();
+ROLLBACK;
+
+-- ============================================================
+-- 2) 인덱스 적용 (Quest @Table indexes + db/quest-indexes.sql 과 동일)
+-- ============================================================
+
+CREATE INDEX idx_quest_child_type_created ON quest (child_id, type, created);
+CREATE INDEX idx_quest_type_created ON quest (type, created);
+CREATE INDEX idx_quest_open_parent_end_date ON quest (end_date)
+    WHERE type = 'PARENT' AND state NOT IN ('COMPLETED', 'EXPIRED');
+
+ANALYZE quest;
+
+-- 인덱스 크기 (부분 인덱스는 진행 중인 부모퀘스트만 담아서 훨씬 작아야 함)
+SELECT indexrelname, pg_size_pretty(pg_relation_size(indexrelid)) AS size
+FROM pg_stat_user_indexes
+WHERE schemaname = 'bench'
+ORDER BY indexrelname;
+
+-- ============================================================
+-- 3) 인덱스 적용 후 - 같은 쿼리 재측정
+-- ============================================================
+
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT * FROM quest
+WHERE child_id = '00000000-0000-0000-0000-000000001234' AND type = 'DAILY'
+ORDER BY created;
+
+BEGIN;
+EXPLAIN (ANALYZE, BUFFERS)
+DELETE FROM quest WHERE type = 'DAILY' AND created < date_trunc('day', now()) - interval '5 days';
+ROLLBACK;
+
+BEGIN;
+EXPLAIN (ANALYZE, BUFFERS)
+UPDATE quest SET state = 'EXPIRED'
+WHERE type = 'PARENT' AND state NOT IN ('COMPLETED', 'EXPIRED') AND end_date < now();
+ROLLBACK;
+
+-- 참고: 조건을 바인드 파라미터로 넘기면(generic plan) 부분 인덱스 조건과 일치하는지 플래너가 증명하지 못함
+PREPARE expire_with_params(varchar, timestamp) AS
+    UPDATE quest SET state = 'EXPIRED'
+    WHERE type = $1 AND state NOT IN ('COMPLETED', 'EXPIRED') AND end_date < $2;
+SET plan_cache_mode = force_generic_plan;
+BEGIN;
+EXPLAIN (ANALYZE, BUFFERS) EXECUTE expire_with_params('PARENT', now()::timestamp);
+ROLLBACK;
+RESET plan_cache_mode;
+DEALLOCATE expire_with_params;
+
+DROP SCHEMA bench CASCADE;